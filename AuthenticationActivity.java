@@ -2,8 +2,13 @@ package com.nesn.nesnplayer.auth;
 
 import android.content.Intent;
 import android.graphics.Bitmap;
+import android.net.Uri;
 import android.os.Bundle;
+import android.view.View;
+import android.webkit.CookieManager;
+import android.webkit.WebResourceRequest;
 import android.webkit.WebSettings;
+import android.webkit.WebStorage;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
@@ -15,12 +20,12 @@ import com.nesn.nesnplayer.R;
 import com.nesn.nesnplayer.core.BaseActivity;
 import com.nesn.nesnplayer.core.Constant;
 import com.nesn.nesnplayer.core.ExceptionManager;
+import com.nesn.nesnplayer.core.PreferenceWriteBehind;
 import com.nesn.nesnplayer.core.SharedPreferenceHelper;
 import com.nesn.nesnplayer.playback.PlaybackData;
 
 import javax.inject.Inject;
 
-import okhttp3.Request;
 import rx.CompletableSubscriber;
 import rx.Subscriber;
 import rx.Subscription;
@@ -42,17 +47,22 @@ public class AuthenticationActivity extends BaseActivity {
     ActivationManager activationManager;
 
     @Inject
-    SharedPreferenceHelper sharedPreferenceHelper;
+    PreferenceWriteBehind preferences;
 
     @Inject
     ExceptionManager exceptionManager;
 
+    @Inject
+    MvpdRegistrationCache mvpdRegistrationCache;
+
     private MVPDRegistration registration;
 
     private AuthenticationWebView authenticationWebView;
 
     private String activationBaseLocation;
 
+    private boolean activationStarted;
+
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -77,9 +87,16 @@ public class AuthenticationActivity extends BaseActivity {
         );
     }
 
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // the sign-in state must reach disk before the process can go away
+        preferences.flush();
+    }
+
     protected void sdkBeginRegistration(final String activationUrlTemplate) {
 
-        activationManager.getMVPDRegistration()
+        mvpdRegistrationCache.getRegistration()
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(new Subscriber<MVPDRegistration>() {
                     @Override
@@ -115,23 +132,23 @@ public class AuthenticationActivity extends BaseActivity {
                 .subscribe(new CompletableSubscriber() {
                     @Override
                     public void onCompleted() {
-                        sharedPreferenceHelper.saveBooleanPreference(
-                                SharedPreferenceHelper.IS_AUTH, true
-                        );
-                        sharedPreferenceHelper.saveStringPreference(
-                                SharedPreferenceHelper.AUTH_EXP,
-                                String.valueOf(AuthenticationActivity.this.registration.getExpiresAt().getMillis())
-                        );
-                        sharedPreferenceHelper.saveStringPreference(
-                                SharedPreferenceHelper.AUTH_PROVIDER,
-                                mvpdId
-                        );
+                        mvpdRegistrationCache.invalidate();
+                        preferences.edit()
+                                .putBoolean(SharedPreferenceHelper.IS_AUTH, true)
+                                .putString(
+                                        SharedPreferenceHelper.AUTH_EXP,
+                                        String.valueOf(AuthenticationActivity.this.registration.getExpiresAt().getMillis())
+                                )
+                                .putString(SharedPreferenceHelper.AUTH_PROVIDER, mvpdId)
+                                .apply();
                         navigateHome(true);
                     }
 
                     @Override
                     public void onError(Throwable e) {
                         Timber.e("Exception on final activation step: " + e);
+                        activationStarted = false;
+                        authenticationWebView.setVisibility(View.VISIBLE);
                         // CHECKSTYLE:OFF
                         exceptionManager.handleError(AuthenticationActivity.this, e, true);
                         //navigateHome(false);
@@ -153,35 +170,70 @@ public class AuthenticationActivity extends BaseActivity {
         browserSettings.setDomStorageEnabled(true);
 
         WebViewClient client = new WebViewClient() {
+            @Override
+            public boolean shouldOverrideUrlLoading(WebView view, String url) {
+                return interceptActivationRedirect(view, url);
+            }
+
+            @Override
+            public boolean shouldOverrideUrlLoading(WebView view, WebResourceRequest request) {
+                return interceptActivationRedirect(view, request.getUrl().toString());
+            }
+
             @Override
             public void onPageFinished(final WebView view, final String url) {
                 super.onPageFinished(view, url);
                 Timber.d(url);
-                if (url.contains(activationBaseLocation)
-                        && url.contains("device_type=mobile")
-                        && url.contains("success=true")) {
-
-                    final Request build = new Request.Builder().url(url).build();
-                    final String mvpdId = build.url().queryParameter("mso_id");
-
-                    sdkActivateUser(mvpdId);
-
-                }
-
             }
 
             @Override
             public void onPageStarted(WebView view, String url, Bitmap favicon) {
                 super.onPageStarted(view, url, favicon);
                 Timber.d("Page started in webview: " + url);
+
+                // server side redirects do not always go through shouldOverrideUrlLoading
+                interceptActivationRedirect(view, url);
             }
         };
 
-        //NB: clear out cache before logging in
-        authenticationWebView.clearCache(true);
+        //NB: clear out the previous session before logging in, the MVPD picker assets stay cached
+        clearAuthenticationState();
         authenticationWebView.setWebViewClient(client);
     }
 
+    protected void clearAuthenticationState() {
+        CookieManager.getInstance().removeAllCookies(null);
+        WebStorage.getInstance().deleteAllData();
+        authenticationWebView.clearFormData();
+        authenticationWebView.clearHistory();
+    }
+
+    /**
+     * Starts activation as soon as the MVPD redirects to the success page, without loading it.
+     *
+     * @return true when the navigation was the success redirect and has been cancelled
+     */
+    protected boolean interceptActivationRedirect(WebView view, String url) {
+        if (url == null || !url.contains(activationBaseLocation)) {
+            return false;
+        }
+
+        Uri uri = Uri.parse(url);
+        if (!uri.isHierarchical()
+                || !"mobile".equals(uri.getQueryParameter("device_type"))
+                || !"true".equals(uri.getQueryParameter("success"))) {
+            return false;
+        }
+
+        view.stopLoading();
+        if (!activationStarted) {
+            activationStarted = true;
+            view.setVisibility(View.INVISIBLE);
+            sdkActivateUser(uri.getQueryParameter("mso_id"));
+        }
+        return true;
+    }
+
     public void navigateHome(final boolean authSuccess) {
         Intent returnIntent = new Intent();
         setResult(
@@ -0,0 +1,114 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import rx.Observable;
+import rx.functions.Func1;
+import rx.functions.FuncN;
+
+/**
+ * CatalogLoadResult
+ *
+ * Outcome of loading the catalogs of several channels together. Each channel may have
+ * failed independently; the failure is carried here instead of terminating the pipeline.
+ */
+public final class CatalogLoadResult {
+
+    private final Map<String, Part> parts;
+
+    private CatalogLoadResult(Map<String, Part> parts) {
+        this.parts = Collections.unmodifiableMap(parts);
+    }
+
+    /**
+     * Channels that were part of the load, in request order.
+     */
+    public Set<String> getChannels() {
+        return parts.keySet();
+    }
+
+    public boolean contains(String channel) {
+        return parts.containsKey(channel);
+    }
+
+    /**
+     * Loaded data of the channel, null when it failed, was empty or was not part of the load.
+     */
+    public MediaData getData(String channel) {
+        Part part = parts.get(channel);
+        return part != null ? part.data : null;
+    }
+
+    public Throwable getError(String channel) {
+        Part part = parts.get(channel);
+        return part != null ? part.error : null;
+    }
+
+    /**
+     * Runs all requests concurrently and emits a single combined result once all of them
+     * finished, so a slow (e.g. retrying) source holds back every other channel. Subscribe
+     * the sources on an io scheduler before passing them in.
+     */
+    public static Observable<CatalogLoadResult> combine(Map<String, Observable<MediaResult>> catalogs) {
+        final List<String> channels = new ArrayList<>(catalogs.keySet());
+        List<Observable<Part>> requests = new ArrayList<>(channels.size());
+        for (String channel : channels) {
+            requests.add(toPart(catalogs.get(channel)));
+        }
+
+        if (requests.isEmpty()) {
+            return Observable.just(new CatalogLoadResult(new LinkedHashMap<String, Part>()));
+        }
+
+        return Observable.zip(requests, new FuncN<CatalogLoadResult>() {
+            @Override
+            public CatalogLoadResult call(Object... results) {
+                Map<String, Part> parts = new LinkedHashMap<>();
+                for (int i = 0; i < results.length; i++) {
+                    parts.put(channels.get(i), (Part) results[i]);
+                }
+                return new CatalogLoadResult(parts);
+            }
+        });
+    }
+
+    /**
+     * A catalog request emits one result; take it rather than waiting for completion,
+     * which a provider does not guarantee.
+     */
+    private static Observable<Part> toPart(Observable<MediaResult> catalog) {
+        return catalog
+                .take(1)
+                .map(new Func1<MediaResult, Part>() {
+                    @Override
+                    public Part call(MediaResult mediaResult) {
+                        return new Part(mediaResult != null ? mediaResult.getData() : null, null);
+                    }
+                })
+                .defaultIfEmpty(new Part(null, null))
+                .onErrorReturn(new Func1<Throwable, Part>() {
+                    @Override
+                    public Part call(Throwable throwable) {
+                        return new Part(null, throwable);
+                    }
+                });
+    }
+
+    private static final class Part {
+        final MediaData data;
+        final Throwable error;
+
+        Part(MediaData data, Throwable error) {
+            this.data = data;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.catalog.CatalogProvider;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaResult;
+
+import org.joda.time.DateTime;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import rx.Observable;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+/**
+ * CatalogRequestCoalescer
+ *
+ * Sits in front of the catalog requests ({@link CatalogProvider}) and keeps at most one
+ * request in flight per catalog and day range. Callers arriving while a request is
+ * running share its result instead of issuing another download. Failed requests can be
+ * retried with backoff before the failure is shared, so every caller sees the same outcome.
+ * Requests run on the io scheduler, retries included.
+ */
+public class CatalogRequestCoalescer {
+
+    /**
+     * Source
+     *
+     * Issues the actual request for a catalog, e.g. one of the {@link CatalogProvider} calls.
+     */
+    public interface Source {
+        Observable<MediaResult> getCatalog(DateTime from, DateTime to);
+    }
+
+    private final RetryWithBackoff retryWithBackoff;
+    private final Map<String, Observable<MediaResult>> inFlight = new HashMap<>();
+
+    public CatalogRequestCoalescer(RetryWithBackoff retryWithBackoff) {
+        this.retryWithBackoff = retryWithBackoff;
+    }
+
+    /**
+     * @param catalog name of the catalog, requests are only shared within the same catalog
+     * @param retry   whether a new request is retried with backoff; a caller joining a
+     *                request that is already in flight shares it as it is
+     */
+    public Observable<MediaResult> getCatalog(String catalog, Source source, DateTime from, DateTime to,
+                                              boolean retry) {
+        String key = keyFor(catalog, from, to);
+        synchronized (inFlight) {
+            Observable<MediaResult> request = inFlight.get(key);
+            if (request == null) {
+                request = share(key, source.getCatalog(from, to), retry);
+            }
+            return request;
+        }
+    }
+
+    public boolean isInFlight(String catalog, DateTime from, DateTime to) {
+        synchronized (inFlight) {
+            return inFlight.containsKey(keyFor(catalog, from, to));
+        }
+    }
+
+    private Observable<MediaResult> share(final String key, Observable<MediaResult> source, boolean retry) {
+        Observable<MediaResult> request = source.subscribeOn(Schedulers.io());
+        if (retry) {
+            request = request.retryWhen(retryWithBackoff);
+        }
+
+        // the first result ends the request, so it leaves inFlight even if the source never completes
+        Observable<MediaResult> shared = request
+                .take(1)
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        synchronized (inFlight) {
+                            inFlight.remove(key);
+                        }
+                    }
+                })
+                .cache();
+        inFlight.put(key, shared);
+        return shared;
+    }
+
+    /**
+     * Ranges are requested relative to "now", so key on the calendar days they cover.
+     */
+    private static String keyFor(String catalog, DateTime from, DateTime to) {
+        return catalog + ":" + from.toLocalDate() + ":" + to.toLocalDate();
+    }
+}
@@ -0,0 +1,89 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.core.DateFormatHelper;
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+
+import org.joda.time.DateTime;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * DisplayStringCache
+ *
+ * Formatted schedule strings (preview text, header date). Preview texts are kept per
+ * {@link ScheduleIndex} position, so a repeated lookup is two array reads and allocates
+ * nothing; an index's texts go away with the index. Both kinds of string depend on the
+ * device locale and time zone, so {@link #clear()} has to be called when either changes
+ * (ACTION_LOCALE_CHANGED / ACTION_TIMEZONE_CHANGED). Thread safe, preview text is built
+ * off the main thread.
+ */
+public class DisplayStringCache {
+
+    private static final String ON_NOW_PREFIX = "ON NOW - ";
+
+    private final Map<ScheduleIndex, Texts> texts = new WeakHashMap<>();
+
+    private long headerDayStart = Long.MAX_VALUE;
+    private long headerDayEnd = Long.MIN_VALUE;
+    private String headerText;
+
+    private static final class Texts {
+        final String[] onNow;
+        final String[] upNext;
+
+        Texts(int size) {
+            this.onNow = new String[size];
+            this.upNext = new String[size];
+        }
+    }
+
+    public synchronized String getOnNowText(ScheduleIndex scheduleIndex, int position) {
+        Texts indexTexts = textsFor(scheduleIndex);
+        String text = indexTexts.onNow[position];
+        if (text == null) {
+            text = ON_NOW_PREFIX + scheduleIndex.get(position).getLocaleTitle();
+            indexTexts.onNow[position] = text;
+        }
+        return text;
+    }
+
+    public synchronized String getUpNextText(ScheduleIndex scheduleIndex, int position) {
+        Texts indexTexts = textsFor(scheduleIndex);
+        String text = indexTexts.upNext[position];
+        if (text == null) {
+            Airing airing = scheduleIndex.get(position);
+            text = airing.getStartDate().toString(DateFormatHelper.FormatType.PREVIEW_TEXT) + airing.getLocaleTitle();
+            indexTexts.upNext[position] = text;
+        }
+        return text;
+    }
+
+    public synchronized String getHeaderDate(DateTime date) {
+        long millis = date.getMillis();
+        if (headerText == null || millis < headerDayStart || millis >= headerDayEnd) {
+            DateTime dayStart = date.withTimeAtStartOfDay();
+            headerDayStart = dayStart.getMillis();
+            headerDayEnd = dayStart.plusDays(1).getMillis();
+            headerText = date.toString(DateFormatHelper.FormatType.CURRENT_DATE_FULL);
+        }
+        return headerText;
+    }
+
+    /**
+     * Drops everything, e.g. after the locale or time zone changed.
+     */
+    public synchronized void clear() {
+        texts.clear();
+        headerText = null;
+    }
+
+    private Texts textsFor(ScheduleIndex scheduleIndex) {
+        Texts indexTexts = texts.get(scheduleIndex);
+        if (indexTexts == null) {
+            indexTexts = new Texts(scheduleIndex.size());
+            texts.put(scheduleIndex, indexTexts);
+        }
+        return indexTexts;
+    }
+}
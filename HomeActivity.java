@@ -1,21 +1,30 @@
 package com.nesn.nesnplayer.home;
 
+import android.content.BroadcastReceiver;
+import android.content.Context;
 import android.content.DialogInterface;
 import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
 import android.databinding.DataBindingUtil;
 import android.net.Uri;
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.v7.app.AlertDialog;
 import android.view.View;
+import android.webkit.WebView;
 
 import com.nesn.nesnplayer.NesnApplication;
 import com.nesn.nesnplayer.R;
 import com.nesn.nesnplayer.analytics.Analytics;
 import com.nesn.nesnplayer.auth.AuthenticationActivity;
+import com.nesn.nesnplayer.auth.MvpdRegistrationCache;
 import com.nesn.nesnplayer.core.BaseActivity;
 import com.nesn.nesnplayer.core.Constant;
 import com.nesn.nesnplayer.core.ExceptionManager;
 import com.nesn.nesnplayer.core.NetworkManager;
+import com.nesn.nesnplayer.core.PreferenceWriteBehind;
 import com.nesn.nesnplayer.core.SharedPreferenceHelper;
 import com.nesn.nesnplayer.home.databinding.HomeActivityViewBinding;
 import com.nesn.nesnplayer.playback.PlaybackActivity;
@@ -45,6 +54,9 @@ public class HomeActivity extends BaseActivity implements HomeView {
     @Inject
     SharedPreferenceHelper sharedPreferenceHelper;
 
+    @Inject
+    PreferenceWriteBehind preferences;
+
     @Inject
     ExceptionManager exceptionManager;
 
@@ -54,8 +66,29 @@ public class HomeActivity extends BaseActivity implements HomeView {
     @Inject
     Analytics analytics;
 
+    @Inject
+    MvpdRegistrationCache mvpdRegistrationCache;
+
+    private static boolean authWebViewWarmedUp;
+
     private HomeActivityViewBinding viewDataBinding;
 
+    private BroadcastReceiver connectivityReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            if (networkManager.isNetworkConnected()) {
+                homePresenter.onNetworkAvailable();
+            }
+        }
+    };
+
+    private BroadcastReceiver localeReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            homePresenter.onLocaleOrTimeZoneChanged();
+        }
+    };
+
     private View.OnClickListener logoutListener = new View.OnClickListener() {
         @Override
         public void onClick(View view) {
@@ -94,10 +127,22 @@ public class HomeActivity extends BaseActivity implements HomeView {
 
         Timber.d("Start wire up");
         wireUpComponents();
+        homePresenter.setPreferenceWriteBehind(preferences);
+
+        // also delivered while paused, so the cached strings never outlive a change
+        IntentFilter localeFilter = new IntentFilter(Intent.ACTION_LOCALE_CHANGED);
+        localeFilter.addAction(Intent.ACTION_TIMEZONE_CHANGED);
+        registerReceiver(localeReceiver, localeFilter);
 
         Timber.d("End wire up");
     }
 
+    @Override
+    protected void onDestroy() {
+        unregisterReceiver(localeReceiver);
+        super.onDestroy();
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -119,12 +164,51 @@ public class HomeActivity extends BaseActivity implements HomeView {
 
         viewDataBinding.providerText.setOnClickListener(logoutListener);
         // viewDataBinding.providerImage.setOnClickListener(logoutListener);
+
+        registerReceiver(connectivityReceiver, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+
+        if (!preferences.getBooleanPreference(SharedPreferenceHelper.IS_AUTH)) {
+            mvpdRegistrationCache.startPrefetching();
+            warmUpAuthWebView();
+        }
+    }
+
+    /**
+     * The first WebView of a process pays for loading the WebView provider, do that while
+     * the home screen is idle instead of when the sign-in screen opens.
+     */
+    private void warmUpAuthWebView() {
+        if (authWebViewWarmedUp) {
+            return;
+        }
+        authWebViewWarmedUp = true;
+
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                try {
+                    new WebView(getApplicationContext()).destroy();
+                } catch (RuntimeException e) {
+                    Timber.e(e, "Unable to warm up WebView");
+                }
+                return false;
+            }
+        });
     }
 
     @Override
     protected void onPause() {
         super.onPause();
+        unregisterReceiver(connectivityReceiver);
+        mvpdRegistrationCache.stopPrefetching();
         homePresenter.paused();
+        preferences.flush();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        homePresenter.onTrimMemory(level);
     }
 
     @Override
@@ -2,13 +2,16 @@ package com.nesn.nesnplayer.home;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
+import android.content.Context;
+import android.os.SystemClock;
+import android.provider.Settings;
 import android.view.View;
 
 import com.bamtech.sdk.authentication.AuthenticationManager;
 import com.bamtech.sdk.authorization.AuthorizationManager;
 import com.nesn.nesnplayer.R;
-import com.nesn.nesnplayer.core.DateFormatHelper;
 import com.nesn.nesnplayer.core.ExceptionManager;
+import com.nesn.nesnplayer.core.PreferenceWriteBehind;
 import com.nesn.nesnplayer.core.SharedPreferenceHelper;
 import com.nesn.nesnplayer.playback.PlaybackData;
 import com.nesn.nesnplayer.sdkclient.catalog.CatalogProvider;
@@ -17,19 +20,24 @@ import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
 import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
 import com.nesn.nesnplayer.sdkclient.model.catalog.MediaResult;
 import com.nesn.nesnplayer.sdkclient.model.catalog.ScheduleChangeListener;
-import com.nesn.nesnplayer.sdkclient.model.catalog.ScheduleHelper;
 
 import org.joda.time.DateTime;
-import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
 
+import java.io.File;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import rx.Observable;
 import rx.Subscriber;
+import rx.Subscription;
 import rx.android.schedulers.AndroidSchedulers;
+import rx.functions.Func1;
 import rx.schedulers.Schedulers;
 import timber.log.Timber;
 
@@ -43,19 +51,29 @@ import timber.log.Timber;
 public class HomePresenter {
 
     private final CatalogProvider catalogProvider;
+    private final CatalogRequestCoalescer catalogRequests;
     // CHECKSTYLE:OFF
     public HomeViewModel homeViewModel = new HomeViewModel();
     private HomeView homeView;
-    private MediaData localNesnCache;
-    private MediaData localPlusCache;
     private AuthenticationManager authenticationManager;
     private AuthorizationManager authorizationManager;
     private SharedPreferenceHelper sharedPreferenceHelper;
+    private PreferenceWriteBehind preferences;
     private MvpdProvider mvpdProvider;
     private ExceptionManager exceptionManager;
     private boolean isAuthenticated;
+    private boolean paused;
     private String authProvider;
     private ScheduleChangeListener scheduleChangeListener;
+    private ScheduleDiskCache scheduleDiskCache;
+    private MidnightRefreshPlanner midnightRefreshPlanner;
+    private MvpdRegistry mvpdRegistry;
+    private final HashMap<String, ScheduleIndex> scheduleIndexes = new HashMap<>();
+    private final ProgramBoundaryScheduler programBoundaryScheduler;
+    private final ScheduleListUpdater scheduleListUpdater = new ScheduleListUpdater();
+    private final HashMap<String, ScheduleFlagState> scheduleFlagStates = new HashMap<>();
+    private final DisplayStringCache displayStrings = new DisplayStringCache();
+    private final HashMap<String, Subscription> pendingScheduleStates = new HashMap<>();
 
     private String tileImageWidth;
     private String tileImageHeight;
@@ -64,6 +82,31 @@ public class HomePresenter {
 
     private static final String NESN_SCREEN = "ScheduleView.NESN";
     private static final String NESNPLUS_SCREEN = "ScheduleView.NESNPlus";
+    private static final String SCHEDULE_CACHE_DIR = "schedule";
+    private static final int FIRST_DAY_LOOKBACK_HOURS = 6;
+
+    private static final String METRIC_TIME_TO_CATALOG = "time_to_catalog_ms";
+    private static final String METRIC_TIME_TO_SCHEDULE_COLD = "time_to_schedule_cold_ms";
+    private static final String METRIC_TIME_TO_SCHEDULE_WARM = "time_to_schedule_warm_ms";
+    private static final String METRIC_TIME_TO_LOADER_DISMISSED = "time_to_loader_dismissed_ms";
+    private static final String METRIC_CATALOG_LOAD = "catalog_load_ms";
+    private static final String METRIC_CATALOG_ERRORS = "catalog_errors";
+    private static final String METRIC_BOUNDARY_LATENESS = "boundary_late_ms";
+    private static final String METRIC_MIDNIGHT_LATENESS = "midnight_late_ms";
+    private static final String METRIC_LIVE_SUBSCRIPTIONS = "live_subscriptions";
+
+    private static final String JOB_MIDNIGHT_REFRESH = "midnight_refresh";
+    private static final String JOB_REVALIDATION = "revalidation";
+    private static final String JOB_CATALOG = "catalog";
+    private static final String JOB_FIRST_DAY = "first_day";
+    private static final String JOB_FETCH_DAY = "fetch_day:";
+    private static final String JOB_RESTORE = "restore:";
+
+    private final ScheduleCachePolicy scheduleCachePolicy = new ScheduleCachePolicy(
+            ScheduleCachePolicy.DEFAULT_TTL_MS, ScheduleCachePolicy.DEFAULT_MAX_STALENESS_MS, true);
+    private final ScheduleChannelRegistry channels = new ScheduleChannelRegistry();
+    private final ScheduleMetrics metrics = new ScheduleMetrics();
+    private final SubscriptionRegistry subscriptions = new SubscriptionRegistry();
 
 
 
@@ -73,37 +116,184 @@ public class HomePresenter {
                          HashMap<String, String> mvpdNavigationMap) {
 
         this.catalogProvider = catalogProvider;
+        this.catalogRequests = new CatalogRequestCoalescer(new RetryWithBackoff());
         this.mvpdProvider = mvpdProvider;
         this.sharedPreferenceHelper = sharedPreferenceHelper;
+        // replaced by the application wide queue, see setPreferenceWriteBehind
+        this.preferences = new PreferenceWriteBehind(sharedPreferenceHelper);
         this.authenticationManager = authenticationManager;
         this.authorizationManager = authorizationManager;
         this.exceptionManager = exceptionManager;
         this.scheduleChangeListener = scheduleChangeListener;
         this.mvpdNavigationMap = mvpdNavigationMap;
 
+        channels.register(new ScheduleChannel(CatalogProvider.NESN, new CatalogRequestCoalescer.Source() {
+            @Override
+            public Observable<MediaResult> getCatalog(DateTime from, DateTime to) {
+                return HomePresenter.this.catalogProvider.getCatalog(from, to);
+            }
+        }, CatalogProvider.DEFAULT_SCHEDULE_DAYS_RANGE, NESN_SCREEN));
+        channels.register(new ScheduleChannel(CatalogProvider.NESN_PLUS, new CatalogRequestCoalescer.Source() {
+            @Override
+            public Observable<MediaResult> getCatalog(DateTime from, DateTime to) {
+                return HomePresenter.this.catalogProvider.getNesnPlusCatalog(from, to);
+            }
+        }, CatalogProvider.PLUS_SCHEDULE_DAYS_RANGE, NESNPLUS_SCREEN)
+                .setFallback(CatalogProvider.NESN)
+                .setHeaderTitle("NESNplus Schedule")
+                .setPreviewed(true));
+
+        this.programBoundaryScheduler = new ProgramBoundaryScheduler(new ProgramBoundaryScheduler.Listener() {
+            @Override
+            public void onProgramBoundary(String channel, long lateMillis) {
+                metrics.record(METRIC_BOUNDARY_LATENESS, lateMillis, ScheduleMetrics.DURATION_BUCKETS);
+                mapSchedule(HomePresenter.this.homeViewModel, channels.getData(channel), channel);
+            }
+        });
     }
 
     public void init() {
         DateTime currentDate = new DateTime();
-        homeViewModel.headerTitle.set(currentDate.toString(DateFormatHelper.FormatType.CURRENT_DATE_FULL));
+        homeViewModel.headerTitle.set(displayStrings.getHeaderDate(currentDate));
 
-        getMediaData(catalogProvider, currentDate.minusDays(1));
+        restorePersistedSchedule();
+        getMediaData(currentDate.minusDays(1), true);
 
         setupMidnightRefreshTimer();
     }
 
+    /**
+     * Revalidates the catalogs behind the schedule that is already on screen.
+     */
     public void refreshScheduleData(){
-        DateTime currentDate = new DateTime();
-        getMediaData(catalogProvider, currentDate.minusDays(1));
+        DateTime windowStart = new DateTime().minusDays(1);
+        ScheduleChannel primary = channels.getPrimary();
+
+        if (catalogRequests.isInFlight(primary.getId(), windowStart, windowStart.plusDays(primary.getDaysRange()))) {
+            Timber.d("Skipping catalog refresh, already in flight");
+            return;
+        }
+
+        getMediaData(windowStart, false);
     }
 
+    /**
+     * Registered as a job, so every resume re-arms it for the next rollover and a
+     * repeated setup replaces the armed timer instead of adding another one.
+     */
     private void setupMidnightRefreshTimer() {
-        DateTime midnight = new DateTime().plusDays(1).withTimeAtStartOfDay();
-        long duration = midnight.getMillis() - System.currentTimeMillis();
-        homeView.addSubscription(
-                Observable.timer(duration, TimeUnit.MILLISECONDS)
+        register(JOB_MIDNIGHT_REFRESH, new SubscriptionRegistry.Job() {
+            @Override
+            public Subscription start() {
+                final long rollover = midnightRefreshPlanner.nextRollover(System.currentTimeMillis());
+                long duration = rollover - System.currentTimeMillis();
+                return Observable.timer(duration, TimeUnit.MILLISECONDS)
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .subscribe(new Subscriber<Long>() {
+                            @Override
+                            public void onCompleted() {
+
+                            }
+
+                            @Override
+                            public void onError(Throwable e) {
+                                Timber.e(e);
+                            }
+
+                            @Override
+                            public void onNext(Long aLong) {
+                                Timber.d("onNext for setupRefreshTimer");
+                                metrics.record(METRIC_MIDNIGHT_LATENESS, Math.max(0, System.currentTimeMillis() - rollover),
+                                        ScheduleMetrics.DURATION_BUCKETS);
+                                rollOverSchedule();
+                                setupRevalidationTimer(rollover);
+                                setupMidnightRefreshTimer();
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * The loaded window already covers the new day, so the rollover itself is served from cache.
+     */
+    private void rollOverSchedule() {
+        for (ScheduleChannel channel : channels.getVisible(homeViewModel.selectedChannel.get())) {
+            mapSchedule(homeViewModel, channels.getData(channel.getId()), channel.getId());
+        }
+
+        if (channels.getOrPrimary(homeViewModel.selectedChannel.get()).getHeaderTitle() == null) {
+            homeViewModel.headerTitle.set(displayStrings.getHeaderDate(new DateTime()));
+        }
+    }
+
+    private void setupRevalidationTimer(final long rollover) {
+        register(JOB_REVALIDATION, new SubscriptionRegistry.Job() {
+            @Override
+            public Subscription start() {
+                long duration = Math.max(0, midnightRefreshPlanner.revalidationAt(rollover) - System.currentTimeMillis());
+                return Observable.timer(duration, TimeUnit.MILLISECONDS)
+                        .observeOn(AndroidSchedulers.mainThread())
+                        .subscribe(new Subscriber<Long>() {
+                            @Override
+                            public void onCompleted() {
+
+                            }
+
+                            @Override
+                            public void onError(Throwable e) {
+                                Timber.e(e);
+                            }
+
+                            @Override
+                            public void onNext(Long aLong) {
+                                Timber.d("onNext for setupRevalidationTimer");
+                                fetchNextScheduleDay();
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * At the day rollover only one day drops off the start of the schedule window and one
+     * day is added at its end, so fetch just that day and merge it into the loaded indexes.
+     * Without a loaded schedule there is nothing to merge into and the full window is fetched.
+     */
+    private void fetchNextScheduleDay() {
+        DateTime windowStart = new DateTime().minusDays(1);
+        if (channels.getPrimary().getData() == null) {
+            getMediaData(windowStart, true);
+            return;
+        }
+
+        long evictBefore = evictBefore(new DateTime());
+        for (ScheduleChannel channel : channels.getVisible(homeViewModel.selectedChannel.get())) {
+            // channels that were never loaded or got evicted load their full window when shown
+            if (channel.getData() == null) {
+                continue;
+            }
+
+            DateTime windowEnd = windowStart.plusDays(channel.getDaysRange());
+            mergeScheduleDay(
+                    catalogRequests.getCatalog(channel.getId(), channel.getSource(), windowEnd.minusDays(1), windowEnd, true),
+                    channel.getId(), windowEnd, evictBefore);
+        }
+    }
+
+    private void mergeScheduleDay(Observable<MediaResult> dayRequest, final String channel,
+                                  DateTime windowEnd, final long evictBefore) {
+        ScheduleIndex scheduleIndex = indexFor(channels.getData(channel), channel);
+        if (scheduleIndex != null && scheduleIndex.getCoveredUntil() >= windowEnd.getMillis()) {
+            // already covered, only evict the day that fell off
+            scheduleIndexes.put(channel, scheduleIndex.merge(null, evictBefore));
+            mapSchedule(homeViewModel, channels.getData(channel), channel);
+            return;
+        }
+
+        register(JOB_FETCH_DAY + channel, dayRequest
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(new Subscriber<Long>() {
+                .subscribe(new Subscriber<MediaResult>() {
                     @Override
                     public void onCompleted() {
 
@@ -111,24 +301,115 @@ public class HomePresenter {
 
                     @Override
                     public void onError(Throwable e) {
-                        Timber.e(e);
+                        Timber.e(e, "Error retrieving next schedule day for " + channel);
+                        if (channels.isPrimary(channel)) {
+                            getMediaData(new DateTime().minusDays(1), false);
+                        }
                     }
 
                     @Override
-                    public void onNext(Long aLong) {
-                        Timber.d("onNext for setupRefreshTimer");
-                        getMediaData(catalogProvider, new DateTime().minusDays(1));
-                        setupMidnightRefreshTimer();
+                    public void onNext(MediaResult mediaResult) {
+                        ScheduleIndex current = indexFor(channels.getData(channel), channel);
+                        if (current != null && mediaResult != null && mediaResult.getData() != null) {
+                            MediaData day = mediaResult.getData();
+                            scheduleIndexes.put(channel, current.merge(day.getAiringsByChannel(channel), evictBefore));
+                            persistMergedDay(channels.get(channel), day);
+                            mapSchedule(homeViewModel, channels.getData(channel), channel);
+                        }
+                        unsubscribe();
                     }
                 }));
     }
 
-    private void getMediaData(CatalogProvider catalogProvider, DateTime currentDate) {
-        homeView.addSubscription(catalogProvider
-                .getCatalog(currentDate, currentDate.plusDays(CatalogProvider.DEFAULT_SCHEDULE_DAYS_RANGE))
-                .subscribeOn(Schedulers.io())
+    /**
+     * Keeps the merged day with the channel's data, so an index rebuilt later (e.g. from
+     * the disk copy on the next cold start) shows the same schedule as the screen. The
+     * {@link ScheduleChangeListener} keeps receiving the loaded window only; it is told
+     * about the new day with the next full load.
+     */
+    private void persistMergedDay(ScheduleChannel channel, MediaData day) {
+        if (channel == null || channel.getData() == null) {
+            return;
+        }
+
+        channel.addMergedDay(day);
+        // a first-day paint is not counted as a refresh and not persisted either
+        if (scheduleDiskCache != null && channel.getFetchedAt() > 0) {
+            scheduleDiskCache.write(channel.getId(), channel.getData(), channel.getMergedDays(), channel.getFetchedAt());
+        }
+    }
+
+    /**
+     * Airings that ended before the start of yesterday are dropped when days are merged.
+     */
+    private static long evictBefore(DateTime now) {
+        return now.minusDays(1).withTimeAtStartOfDay().getMillis();
+    }
+
+    /**
+     * Paints the schedule from the on-disk copy while the catalog request is in flight.
+     * Entries past the cache policy's staleness cap are ignored and network data always
+     * wins if it arrives first.
+     */
+    private void restorePersistedSchedule() {
+        if (scheduleDiskCache == null) {
+            return;
+        }
+
+        for (final ScheduleChannel channel : channels.getVisible(homeViewModel.selectedChannel.get())) {
+            register(JOB_RESTORE + channel.getId(), scheduleDiskCache.read(channel.getId())
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(new Subscriber<ScheduleDiskCache.Entry>() {
+                        @Override
+                        public void onCompleted() {
+
+                        }
+
+                        @Override
+                        public void onError(Throwable e) {
+                            Timber.e(e, "Error restoring " + channel.getId() + " schedule");
+                        }
+
+                        @Override
+                        public void onNext(ScheduleDiskCache.Entry entry) {
+                            if (channel.getData() != null || !scheduleCachePolicy.isUsable(entry.savedAt, System.currentTimeMillis())) {
+                                return;
+                            }
+
+                            Timber.d("Restored " + channel.getId() + " schedule from disk");
+                            channel.setData(entry.mediaData, entry.savedAt);
+                            for (MediaData day : entry.mergedDays) {
+                                channel.addMergedDay(day);
+                            }
+
+                            if (channels.isPrimary(channel.getId())) {
+                                homeViewModel.scheduleNotAvailable.set(false);
+                                showSelectedChannel();
+                                dismissLoader();
+                            } else {
+                                mapSchedule(homeViewModel, channel.getData(), channel.getId());
+                            }
+                        }
+                    }));
+        }
+    }
+
+    /**
+     * Loads the catalogs of all visible channels.
+     */
+    private void getMediaData(DateTime currentDate, boolean showLoader) {
+        getMediaData(channels.getVisible(homeViewModel.selectedChannel.get()), currentDate, showLoader);
+    }
+
+    /**
+     * Loads the catalogs concurrently on the io scheduler and applies them in one pass
+     * once all are back, so the loader is only dismissed when the whole screen can render.
+     */
+    private void getMediaData(List<ScheduleChannel> toLoad, DateTime currentDate, boolean showLoader) {
+        final long requestedAt = SystemClock.elapsedRealtime();
+        register(jobKey(JOB_CATALOG, toLoad), CatalogLoadResult.combine(catalogRequests(toLoad, currentDate, null))
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(new Subscriber<MediaResult>() {
+                .subscribe(new Subscriber<CatalogLoadResult>() {
                     @Override
                     public void onCompleted() {
 
@@ -136,39 +417,93 @@ public class HomePresenter {
 
                     @Override
                     public void onError(Throwable e) {
-                        Timber.d("onError");
-
+                        Timber.e(e, "Error loading catalogs");
+                        metrics.increment(METRIC_CATALOG_ERRORS);
                         dismissLoader();
-                        homeViewModel.scheduleNotAvailable.set(true);
-                        sharedPreferenceHelper.saveBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH, true);
                     }
 
                     @Override
-                    public void onNext(MediaResult mediaResult) {
-                        if (mediaResult != null) {
-                            localNesnCache = mediaResult.getData();
-                            homeViewModel.scheduleNotAvailable.set(false);
-
-                            if (homeViewModel.selectedChannel.get() != null && homeViewModel.selectedChannel.get().equals(CatalogProvider.NESN_PLUS)) {
-                                mapSchedule(homeViewModel, localNesnCache, CatalogProvider.NESN);
-                                showNESNplusSchedule();
-                            } else {
-                                mapSchedule(homeViewModel, localPlusCache, CatalogProvider.NESN_PLUS);
-                                showNESNSchedule();
-                            }
-
-                            sharedPreferenceHelper.saveBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH, false);
-
-                        }
+                    public void onNext(CatalogLoadResult catalogLoadResult) {
+                        metrics.record(METRIC_CATALOG_LOAD, SystemClock.elapsedRealtime() - requestedAt, ScheduleMetrics.DURATION_BUCKETS);
+                        metrics.endSpan(METRIC_TIME_TO_CATALOG);
+                        applyCatalogResult(catalogLoadResult);
                         unsubscribe();
                         dismissLoader();
                     }
                 }));
 
+        if (showLoader) {
+            showLoader();
+            if (channels.getPrimary().getData() == null && toLoad.contains(channels.getPrimary())) {
+                getFirstScheduleDay();
+            }
+        }
+    }
 
-        homeView.addSubscription(catalogProvider
-                .getNesnPlusCatalog(currentDate, currentDate.plusDays(CatalogProvider.PLUS_SCHEDULE_DAYS_RANGE))
-                .subscribeOn(Schedulers.computation())
+    /**
+     * One coalesced request per channel, covering its own day range from {@code from}, or
+     * up to {@code to} for all of them when given. The requests are combined, so only the
+     * primary channel (or a channel loaded on its own) is retried: retrying a secondary
+     * channel would hold the primary one and the loader back for the whole backoff. A
+     * secondary channel that failed is loaded again with the next refresh.
+     */
+    private Map<String, Observable<MediaResult>> catalogRequests(List<ScheduleChannel> toLoad, DateTime from, DateTime to) {
+        Map<String, Observable<MediaResult>> requests = new LinkedHashMap<>();
+        for (ScheduleChannel channel : toLoad) {
+            DateTime channelTo = to != null ? to : from.plusDays(channel.getDaysRange());
+            boolean retry = toLoad.size() == 1 || channels.isPrimary(channel.getId());
+            requests.put(channel.getId(), catalogRequests
+                    .getCatalog(channel.getId(), channel.getSource(), from, channelTo, retry));
+        }
+        return requests;
+    }
+
+    /**
+     * Loads a channel that has no data of its own yet, e.g. the first time it is selected.
+     */
+    private void loadChannel(ScheduleChannel channel) {
+        DateTime windowStart = new DateTime().minusDays(1);
+        if (catalogRequests.isInFlight(channel.getId(), windowStart, windowStart.plusDays(channel.getDaysRange()))) {
+            return;
+        }
+
+        Timber.d("Loading " + channel.getId() + " on first use");
+        getMediaData(Collections.singletonList(channel), windowStart, false);
+    }
+
+    /**
+     * The full window is several days of airings per catalog, while the loading screen only
+     * waits for the primary channel's current day (on-now, up-next and today's list). On a
+     * cold load without a usable disk copy this fetches just that day next to the full
+     * window, without retries, and paints it as soon as it is back; other channels wait for
+     * the full window. The day is never persisted or counted as a refresh; the full window
+     * replaces it.
+     */
+    private void getFirstScheduleDay() {
+        final ScheduleChannel primary = channels.getPrimary();
+        final DateTime from = new DateTime().withTimeAtStartOfDay().minusHours(FIRST_DAY_LOOKBACK_HOURS);
+        final DateTime to = new DateTime().plusDays(1);
+
+        Observable<Boolean> restorable = scheduleDiskCache != null
+                ? scheduleDiskCache.readSavedAt(primary.getId())
+                        .exists(new Func1<Long, Boolean>() {
+                            @Override
+                            public Boolean call(Long savedAt) {
+                                return scheduleCachePolicy.isUsable(savedAt, System.currentTimeMillis());
+                            }
+                        })
+                : Observable.just(false);
+
+        register(JOB_FIRST_DAY, restorable
+                .flatMap(new Func1<Boolean, Observable<MediaResult>>() {
+                    @Override
+                    public Observable<MediaResult> call(Boolean restored) {
+                        // the disk copy paints first, the extra request would only cost memory
+                        return restored
+                                ? Observable.<MediaResult>empty()
+                                : catalogRequests.getCatalog(primary.getId(), primary.getSource(), from, to, false);
+                    }
+                })
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(new Subscriber<MediaResult>() {
                     @Override
@@ -178,21 +513,101 @@ public class HomePresenter {
 
                     @Override
                     public void onError(Throwable e) {
-                        Timber.e(e, " Error retrieving NESN plus data");
+                        Timber.d("First schedule day failed, waiting for the full window: " + e);
                     }
 
                     @Override
                     public void onNext(MediaResult mediaResult) {
-                        localPlusCache = mediaResult.getData();
-                        mapSchedule(homeViewModel, localPlusCache, CatalogProvider.NESN_PLUS);
+                        applyFirstScheduleDay(mediaResult != null ? mediaResult.getData() : null);
                         unsubscribe();
                     }
                 }));
+    }
+
+    private void applyFirstScheduleDay(MediaData data) {
+        ScheduleChannel primary = channels.getPrimary();
+
+        // a restored or fully loaded schedule already covers the day
+        if (data == null || primary.getData() != null) {
+            return;
+        }
+
+        Timber.d("Painting first schedule day");
+        primary.setData(data, 0);
+        homeViewModel.scheduleNotAvailable.set(false);
+
+        showSelectedChannel();
+        dismissLoader();
+    }
+
+    private void cancelFirstScheduleDay() {
+        subscriptions.cancel(JOB_FIRST_DAY);
+    }
+
+    /**
+     * Maps the visible channels that are not selected first, then selects the selected one
+     * again so the previews and the selected list reflect the current caches.
+     */
+    private void showSelectedChannel() {
+        selectSchedule(mapOtherVisibleChannels());
+    }
 
-        showLoader();
+    /**
+     * Maps the visible channels other than the selected one and returns the selected one.
+     */
+    private ScheduleChannel mapOtherVisibleChannels() {
+        ScheduleChannel selected = channels.getOrPrimary(homeViewModel.selectedChannel.get());
+        for (ScheduleChannel channel : channels.getVisible(selected.getId())) {
+            if (channel != selected) {
+                mapSchedule(homeViewModel, channels.getData(channel.getId()), channel.getId());
+            }
+        }
+        return selected;
+    }
+
+    private void applyCatalogResult(CatalogLoadResult result) {
+        ScheduleChannel primary = channels.getPrimary();
+        boolean includesPrimary = result.contains(primary.getId());
+
+        if (includesPrimary) {
+            cancelFirstScheduleDay();
+        }
+
+        long now = System.currentTimeMillis();
+        for (String id : result.getChannels()) {
+            ScheduleChannel channel = channels.get(id);
+            MediaData data = result.getData(id);
+            if (channel != null && data != null) {
+                channel.setData(data, now);
+                if (scheduleDiskCache != null) {
+                    scheduleDiskCache.write(id, data, Collections.<MediaData>emptyList(), now);
+                }
+            } else if (result.getError(id) != null) {
+                Timber.e(result.getError(id), " Error retrieving " + id + " data");
+            }
+        }
+
+        if (includesPrimary) {
+            if (result.getData(primary.getId()) != null) {
+                homeViewModel.scheduleNotAvailable.set(false);
+                preferences.saveBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH, false);
+            } else {
+                Timber.d("onError");
+                metrics.increment(METRIC_CATALOG_ERRORS);
+
+                // keep the last known good schedule on screen, retried on the next resume or reconnect
+                if (primary.getData() == null) {
+                    homeViewModel.scheduleNotAvailable.set(true);
+                }
+                preferences.saveBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH, true);
+            }
+        }
+
+        showSelectedChannel();
     }
 
     private void dismissLoader() {
+        metrics.endSpan(METRIC_TIME_TO_LOADER_DISMISSED);
         final View view = homeView.getHomeViewBinding().loadingScreen;
         view.animate().alpha(0).setListener(new AnimatorListenerAdapter() {
             @Override
@@ -210,53 +625,130 @@ public class HomePresenter {
 
     public void attachView(HomeView homeView) {
         this.homeView = homeView;
-        tileImageWidth = homeView.getHomeViewBinding().appBarLayout.getContext().getResources().getString(R.string.tile_image_width);
-        tileImageHeight = homeView.getHomeViewBinding().appBarLayout.getContext().getResources().getString(R.string.tile_image_height);
+        long attachedAt = SystemClock.elapsedRealtime();
+        Context context = homeView.getHomeViewBinding().appBarLayout.getContext();
+        tileImageWidth = context.getResources().getString(R.string.tile_image_width);
+        tileImageHeight = context.getResources().getString(R.string.tile_image_height);
+
+        if (scheduleDiskCache == null) {
+            scheduleDiskCache = new ScheduleDiskCache(new File(context.getCacheDir(), SCHEDULE_CACHE_DIR));
+        }
+
+        if (midnightRefreshPlanner == null) {
+            String deviceId = Settings.Secure.getString(context.getContentResolver(), Settings.Secure.ANDROID_ID);
+            midnightRefreshPlanner = new MidnightRefreshPlanner(
+                    MidnightRefreshPlanner.DEFAULT_SPREAD_WINDOW_MS,
+                    deviceId != null ? deviceId.hashCode() : System.nanoTime());
+        }
+
+        // re-arms the timers stopped by paused()
+        paused = false;
+        subscriptions.resume();
 
-        // Add rules for refresh
-        if (localNesnCache == null || !lastViewedToday() || sharedPreferenceHelper.getBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH)) {
+        ScheduleCachePolicy.Decision decision = evaluateScheduleCache();
+        if (decision == ScheduleCachePolicy.Decision.RELOAD) {
+            // only a cold load waits for the catalog behind the loader
+            metrics.startSpan(METRIC_TIME_TO_CATALOG, attachedAt);
+            metrics.startSpan(METRIC_TIME_TO_SCHEDULE_COLD, attachedAt);
+            metrics.startSpan(METRIC_TIME_TO_LOADER_DISMISSED, attachedAt);
             Timber.d("Initial load from catalog");
             init();
         } else {
-            refreshScheduleData();
-            Timber.d("Init on screen refresh");
-            if (homeViewModel.selectedChannel.get() != null && homeViewModel.selectedChannel.get().equals(CatalogProvider.NESN_PLUS)) {
-                mapSchedule(homeViewModel, localNesnCache, CatalogProvider.NESN);
-                showNESNplusSchedule();
-            } else {
-                mapSchedule(homeViewModel, localPlusCache, CatalogProvider.NESN_PLUS);
-                showNESNSchedule();
+            metrics.startSpan(METRIC_TIME_TO_SCHEDULE_WARM, attachedAt);
+            if (decision == ScheduleCachePolicy.Decision.STALE_REVALIDATE) {
+                refreshScheduleData();
             }
+            Timber.d("Init on screen refresh");
+            showSelectedChannel();
 
-            setupMidnightRefreshTimer();
+            if (!subscriptions.isLive(JOB_MIDNIGHT_REFRESH)) {
+                setupMidnightRefreshTimer();
+            }
         }
 
         setAuthInfo();
 
     }
 
-    public void showNESNSchedule() {
+    /**
+     * The primary channel drives the loading screen, a missing or stale schedule of any
+     * other visible channel is only revalidated.
+     */
+    private ScheduleCachePolicy.Decision evaluateScheduleCache() {
+        long now = System.currentTimeMillis();
+        boolean lastRefreshFailed = preferences.getBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH);
+
+        ScheduleChannel primary = channels.getPrimary();
+        ScheduleCachePolicy.Decision primaryDecision = scheduleCachePolicy.evaluate(primary.getData() != null,
+                primary.getFetchedAt(), primary.getTtl(), lastRefreshFailed, now);
+        if (primaryDecision != ScheduleCachePolicy.Decision.FRESH) {
+            return primaryDecision;
+        }
 
-        homeViewModel.selectedChannel.set(CatalogProvider.NESN);
-        homeViewModel.headerTitle.set(new DateTime().toString(DateFormatHelper.FormatType.CURRENT_DATE_FULL));
-        mapSchedule(homeViewModel, localNesnCache, CatalogProvider.NESN);
+        for (ScheduleChannel channel : channels.getVisible(homeViewModel.selectedChannel.get())) {
+            if (channel != primary && scheduleCachePolicy.evaluate(channel.getData() != null, channel.getFetchedAt(),
+                    channel.getTtl(), lastRefreshFailed, now) != ScheduleCachePolicy.Decision.FRESH) {
+                return ScheduleCachePolicy.Decision.STALE_REVALIDATE;
+            }
+        }
+        return ScheduleCachePolicy.Decision.FRESH;
+    }
+
+    /**
+     * Formatted dates and preview texts depend on both, so rebuild what is on screen. While
+     * paused only the cache is dropped, the next {@link #attachView(HomeView)} rebuilds the
+     * screen. Nothing is tracked, the user did not open a screen.
+     */
+    public void onLocaleOrTimeZoneChanged() {
+        displayStrings.clear();
+        if (homeView != null && !paused) {
+            bindSchedule(mapOtherVisibleChannels());
+        }
+    }
+
+    /**
+     * Connectivity came back: refresh right away if the last catalog load failed.
+     */
+    public void onNetworkAvailable() {
+        if (homeView != null && preferences.getBooleanPreference(SharedPreferenceHelper.ERROR_ON_LAST_REFRESH)) {
+            Timber.d("Network restored, retrying catalog");
+            refreshScheduleData();
+        }
+    }
 
-        homeView.analytics().trackScreen(NESN_SCREEN);
+    public void showNESNSchedule() {
+        showSchedule(CatalogProvider.NESN);
     }
 
     public void showNESNplusSchedule() {
+        showSchedule(CatalogProvider.NESN_PLUS);
+    }
+
+    /**
+     * Selects the channel, loading its schedule the first time it is shown.
+     */
+    public void showSchedule(String channelId) {
+        ScheduleChannel channel = channels.getOrPrimary(channelId);
+        selectSchedule(channel);
+
+        if (channel.getData() == null && !channels.isPrimary(channel.getId())) {
+            loadChannel(channel);
+        }
+    }
+
+    private void selectSchedule(ScheduleChannel channel) {
+        bindSchedule(channel);
+        homeView.analytics().trackScreen(channel.getScreenName());
+    }
 
-        homeViewModel.selectedChannel.set(CatalogProvider.NESN_PLUS);
-        homeViewModel.headerTitle.set("NESNplus Schedule");
+    private void bindSchedule(ScheduleChannel channel) {
 
-        mapSchedule(
-                homeViewModel,
-                (localPlusCache != null)
-                        ? localPlusCache
-                        : localNesnCache,
-                CatalogProvider.NESN_PLUS);
+        homeViewModel.selectedChannel.set(channel.getId());
+        homeViewModel.headerTitle.set(channel.getHeaderTitle() != null
+                ? channel.getHeaderTitle()
+                : displayStrings.getHeaderDate(new DateTime()));
 
-        homeView.analytics().trackScreen(NESNPLUS_SCREEN);
+        mapSchedule(homeViewModel, channels.getData(channel.getId()), channel.getId());
     }
 
     public void startPlayback() {
@@ -264,7 +756,7 @@ public class HomePresenter {
         if (homeViewModel.currentProgramPlaybackUrl.get() != null && !homeViewModel.currentProgramPlaybackUrl.get().isEmpty()) {
 
             // reset in case of quick logoff/login
-            this.isAuthenticated = sharedPreferenceHelper.getBooleanPreference(SharedPreferenceHelper.IS_AUTH);
+            this.isAuthenticated = preferences.getBooleanPreference(SharedPreferenceHelper.IS_AUTH);
 
             PlaybackData playbackData = PlaybackData.create(
                     homeViewModel.currentProgramContentId.get(),
@@ -278,45 +770,83 @@ public class HomePresenter {
         }
     }
 
-    public void mapSchedule(HomeViewModel homeViewModel, MediaData catalogData, String channel) {
+    /**
+     * Computes the {@link ScheduleViewState} of the channel on the computation scheduler and
+     * applies it on the main thread. A newer request for the same channel supersedes one
+     * that has not been applied yet.
+     */
+    public void mapSchedule(final HomeViewModel homeViewModel, final MediaData catalogData, final String channel) {
+
+        final ScheduleIndex cachedIndex = scheduleIndexes.get(channel);
+        final List<MediaData> mergedDays = channels.getMergedDays(channel);
+        final long evictBefore = evictBefore(new DateTime());
+
+        Subscription pending = pendingScheduleStates.remove(channel);
+        if (pending != null) {
+            pending.unsubscribe();
+        }
+
+        pendingScheduleStates.put(channel, Observable.fromCallable(new Callable<ScheduleViewState>() {
+                    @Override
+                    public ScheduleViewState call() throws Exception {
+                        return ScheduleViewState.compute(cachedIndex, catalogData, mergedDays, channel,
+                                System.currentTimeMillis(), evictBefore, displayStrings);
+                    }
+                })
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(new Subscriber<ScheduleViewState>() {
+                    @Override
+                    public void onCompleted() {
+
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        Timber.e(e, "Error mapping schedule for " + channel);
+                    }
+
+                    @Override
+                    public void onNext(ScheduleViewState scheduleViewState) {
+                        pendingScheduleStates.remove(channel);
+                        applySchedule(homeViewModel, scheduleViewState);
+                    }
+                }));
+    }
+
+    private void applySchedule(HomeViewModel homeViewModel, ScheduleViewState state) {
 
-        boolean selectedChannelState = false;
+        String channel = state.channel;
+        // the loaded window, see persistMergedDay
+        scheduleChangeListener.setMediaData(channels.getOrPrimary(homeViewModel.selectedChannel.get()).getData());
 
-        scheduleChangeListener.setMediaData(getSelectedLocalCache());
+        if (state.scheduleIndex != null) {
+            scheduleIndexes.put(channel, state.scheduleIndex);
+        }
 
         // Update Current Schedule
-        List<Airing> scheduledAirings = null;
-        if (catalogData != null
-                && (scheduledAirings = catalogData.getAiringsByChannel(channel)) != null
-                && scheduledAirings.size() > 0) {
-
-            Airing airing;
-            if ((airing = ScheduleHelper.getAiringByTime(scheduledAirings, DateTime.now().withZone(DateTimeZone.UTC))) != null) {
-                updateOnNow(airing, scheduledAirings);
-                updateProgram(homeViewModel, airing, true, channel);
-                setupProgramTimer(homeViewModel, airing.getEndDate(), channel, catalogData);
-                updatePreview(homeViewModel, airing, channel, "ON NOW - ");
-                selectedChannelState = true;
+        int[] changedRows = null;
+        if (state.hasAirings()) {
 
-                if (channel.equals(CatalogProvider.NESN_PLUS)) {
-                    homeViewModel.nesnPlusOnNow.set(true);
-                }
+            changedRows = flagStateFor(channel).update(state.scheduleIndex, state.flaggedPosition, state.flagType);
 
-            } else if ((airing = ScheduleHelper.getNextAiring(scheduledAirings, DateTime.now().withZone(DateTimeZone.UTC))) != null) {
-                // find Up Next Airing
-                updateUpNext(airing, scheduledAirings);
-                updateProgram(homeViewModel, airing, false, channel);
-                setupProgramTimer(homeViewModel, airing.getStartDate(), channel, catalogData);
-                updatePreview(homeViewModel, airing, channel, airing.getStartDate().toString(DateFormatHelper.FormatType.PREVIEW_TEXT));
-                selectedChannelState = false;
+            if (state.programAiring != null) {
+                updateProgram(homeViewModel, state.programAiring, state.onNow, channel);
+                // while paused the next attachView() maps the schedule again and arms it then
+                if (!paused) {
+                    programBoundaryScheduler.schedule(channel, state.nextBoundary);
+                }
+                updatePreview(homeViewModel, channel, state.previewText);
 
                 if (channel.equals(CatalogProvider.NESN_PLUS)) {
-                    homeViewModel.nesnPlusOnNow.set(false);
+                    homeViewModel.nesnPlusOnNow.set(state.onNow);
                 }
+            } else {
+                programBoundaryScheduler.clear(channel);
             }
         } else {
 
-            selectedChannelState = false;
+            programBoundaryScheduler.clear(channel);
 
             // Update only for selected channel
             if (channel.equals(homeViewModel.selectedChannel.get())) {
@@ -330,9 +860,34 @@ public class HomePresenter {
 
         // Update only for selected channel
         if (channel.equals(homeViewModel.selectedChannel.get())) {
-            updateSchedule(homeViewModel, scheduledAirings);
-            setSelectedChannelState(homeViewModel, selectedChannelState);
+            updateSchedule(homeViewModel, channel, state.hasAirings() ? state.airings : null, changedRows);
+            setSelectedChannelState(homeViewModel, state.onNow);
+            if (state.hasAirings()) {
+                metrics.endSpan(METRIC_TIME_TO_SCHEDULE_COLD);
+                metrics.endSpan(METRIC_TIME_TO_SCHEDULE_WARM);
+            }
+        }
+
+        metrics.flushIfFull(homeView.analytics());
+    }
+
+    /**
+     * Returns the sorted index for the channel, rebuilding it (with the days merged into
+     * the data) only when the backing {@link MediaData} instance changed since the last
+     * lookup.
+     */
+    private ScheduleIndex indexFor(MediaData catalogData, String channel) {
+        if (catalogData == null) {
+            return null;
         }
+
+        ScheduleIndex scheduleIndex = scheduleIndexes.get(channel);
+        if (scheduleIndex == null || !scheduleIndex.isBuiltFrom(catalogData, channel)) {
+            scheduleIndex = ScheduleIndex.build(catalogData, channels.getMergedDays(channel), channel,
+                    evictBefore(new DateTime()));
+            scheduleIndexes.put(channel, scheduleIndex);
+        }
+        return scheduleIndex;
     }
 
     private void setSelectedChannelState(HomeViewModel homeViewModel, boolean playBackEnabled) {
@@ -345,29 +900,28 @@ public class HomePresenter {
         }
     }
 
-    private void updateSchedule(HomeViewModel viewModel, List<Airing> scheduledAirings) {
+    private void updateSchedule(HomeViewModel viewModel, String channel, List<Airing> scheduledAirings, int[] changedRows) {
 
         if (scheduledAirings != null && scheduledAirings.size() > 0) {
             homeViewModel.scheduleNotAvailable.set(false);
-            viewModel.currentSchedule.clear();
-            viewModel.currentSchedule.addAll(scheduledAirings);
+            scheduleListUpdater.apply(viewModel.currentSchedule, channel, scheduledAirings, changedRows);
         } else {
             homeViewModel.scheduleNotAvailable.set(true);
         }
     }
 
-    private void updatePreview(HomeViewModel homeViewModel, Airing airing, String channel, String prefix) {
+    private void updatePreview(HomeViewModel homeViewModel, String channel, String previewText) {
         if (channel.equals(CatalogProvider.NESN)) {
-            homeViewModel.nesnPreviewText.set(prefix + airing.getLocaleTitle());
+            homeViewModel.nesnPreviewText.set(previewText);
         } else if (channel.equals(CatalogProvider.NESN_PLUS)) {
-            homeViewModel.nesnPlusPreviewText.set(prefix + airing.getLocaleTitle());
+            homeViewModel.nesnPlusPreviewText.set(previewText);
         }
     }
 
     private void resetViewModel(HomeViewModel homeViewModel) {
         homeViewModel.currentProgramImageUrl.set(null);
         homeViewModel.currentProgramTitle.set(null);
-        homeViewModel.currentSchedule.clear();
+        scheduleListUpdater.clear(homeViewModel.currentSchedule);
         homeViewModel.nesnPlusOnNow.set(false);
     }
 
@@ -397,78 +951,97 @@ public class HomePresenter {
         }
     }
 
-    private void setupProgramTimer(HomeViewModel homeViewModel, DateTime airingDate, final String channel, final MediaData mediaData) {
-
-        long duration = airingDate.getMillis() - System.currentTimeMillis();
-        homeView.addSubscription(Observable.timer(duration, TimeUnit.MILLISECONDS)
-                .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(new Subscriber<Long>() {
-                    @Override
-                    public void onCompleted() {
-
-                    }
-
-                    @Override
-                    public void onError(Throwable e) {
-                        Timber.e(e);
-                    }
-
-                    @Override
-                    public void onNext(Long aLong) {
-
-                        Timber.d("onNext for setupProgramTimer for " + channel);
-                        mapSchedule(homeViewModel, mediaData, channel);
-                    }
-                }));
-    }
-
-    private void updateOnNow(Airing currentAiring, List<Airing> scheduledAirings) {
-        for (int i = 0; i < scheduledAirings.size(); i++) {
-            scheduledAirings.get(i).setFlagType(Airing.FLAG_NONE);
+    private ScheduleFlagState flagStateFor(String channel) {
+        ScheduleFlagState flagState = scheduleFlagStates.get(channel);
+        if (flagState == null) {
+            flagState = new ScheduleFlagState();
+            scheduleFlagStates.put(channel, flagState);
         }
-        currentAiring.setFlagType(Airing.FLAG_ON_NOW);
+        return flagState;
     }
 
-    private void updateUpNext(Airing currentAiring, List<Airing> scheduledAirings) {
-        for (int i = 0; i < scheduledAirings.size(); i++) {
-            scheduledAirings.get(i).setFlagType(Airing.FLAG_NONE);
+    /**
+     * Shares the application wide write-behind queue, so values written elsewhere (e.g. on
+     * sign-in) are visible here before they reach disk.
+     */
+    public void setPreferenceWriteBehind(PreferenceWriteBehind preferences) {
+        if (this.preferences != preferences) {
+            // anything queued on the previous instance must not be lost
+            this.preferences.flush();
+            this.preferences = preferences;
         }
-        currentAiring.setFlagType(Airing.FLAG_UP_NEXT);
     }
 
     public HomeViewModel getHomeViewModel() {
         return homeViewModel;
     }
 
+    /**
+     * Drops the schedules of channels that are not needed right now; they are loaded again
+     * once they are shown. See {@link ScheduleChannelRegistry#trimMemory(int, String)}.
+     */
+    public void onTrimMemory(int level) {
+        List<ScheduleChannel> evicted = channels.trimMemory(level, homeViewModel.selectedChannel.get());
+        if (evicted.isEmpty()) {
+            return;
+        }
+
+        for (ScheduleChannel channel : evicted) {
+            Timber.d("Evicted " + channel.getId() + " schedule");
+            scheduleIndexes.remove(channel.getId());
+            scheduleFlagStates.remove(channel.getId());
+            programBoundaryScheduler.clear(channel.getId());
+
+            Subscription pending = pendingScheduleStates.remove(channel.getId());
+            if (pending != null) {
+                pending.unsubscribe();
+            }
+        }
+    }
+
     public void paused() {
-        sharedPreferenceHelper.saveLongPreference(SharedPreferenceHelper.LAST_PAUSED_TIME, System.currentTimeMillis());
+        // a span still running here would otherwise end on a later resume and mix in the pause
+        metrics.discardSpans();
+        metrics.flush(homeView != null ? homeView.analytics() : null);
+        paused = true;
+        subscriptions.pause();
+        programBoundaryScheduler.cancel();
+
+        for (Subscription pending : pendingScheduleStates.values()) {
+            pending.unsubscribe();
+        }
+        pendingScheduleStates.clear();
+
+        preferences.saveLongPreference(SharedPreferenceHelper.LAST_PAUSED_TIME, System.currentTimeMillis());
     }
 
     public boolean lastViewedToday() {
         return LocalDate.now()
                 .compareTo(new LocalDate(new DateTime()
-                        .withMillis(sharedPreferenceHelper
+                        .withMillis(preferences
                                 .getLongPreference(SharedPreferenceHelper.LAST_PAUSED_TIME)))) == 0;
     }
 
     public void setAuthInfo() {
-        this.isAuthenticated = sharedPreferenceHelper.getBooleanPreference(SharedPreferenceHelper.IS_AUTH);
+        this.isAuthenticated = preferences.getBooleanPreference(SharedPreferenceHelper.IS_AUTH);
         homeViewModel.userAuthenticated.set(this.isAuthenticated);
 
         this.authProvider = this.isAuthenticated
-                ? sharedPreferenceHelper.getStringPreference(SharedPreferenceHelper.AUTH_PROVIDER)
+                ? preferences.getStringPreference(SharedPreferenceHelper.AUTH_PROVIDER)
                 : "";
         homeViewModel.loginProvider.set(this.authProvider);
 
-        String providerDisplayName = mvpdProvider.getProviderNameAndLogoUrl(this.authProvider).first;
-        String providerLogoUrl = mvpdProvider.getProviderNameAndLogoUrl(this.authProvider).second;
-
-        homeViewModel.providerLogoUrl.set(providerLogoUrl);
-        homeViewModel.providerDisplayName.set(providerDisplayName);
+        if (mvpdRegistry == null) {
+            mvpdRegistry = new MvpdRegistry(mvpdProvider, mvpdNavigationMap, preferences);
+        }
+        MvpdRegistry.Record provider = mvpdRegistry.get(this.authProvider);
 
+        // same instances on every resume, so the bound logo is not reloaded
+        homeViewModel.providerLogoUrl.set(provider.logoUrl);
+        homeViewModel.providerDisplayName.set(provider.displayName);
 
-        if(this.isAuthenticated && this.mvpdNavigationMap.containsKey(this.authProvider) && homeView != null){
-            String navUri = this.mvpdNavigationMap.get(this.authProvider);
+        if(this.isAuthenticated && provider.navigationUri != null && homeView != null){
+            String navUri = provider.navigationUri;
             homeView.getHomeViewBinding().providerImage.setOnClickListener(new View.OnClickListener() {
                 @Override
                 public void onClick(View v) {
@@ -483,17 +1056,27 @@ public class HomePresenter {
 
     public void signUserOut() {
         authorizationManager.deauthorize();
-        sharedPreferenceHelper.saveBooleanPreference(SharedPreferenceHelper.IS_AUTH, false);
+        preferences.saveBooleanPreference(SharedPreferenceHelper.IS_AUTH, false);
         homeViewModel.userAuthenticated.set(false);
         homeViewModel.loginProvider.set("");
     }
 
-    private MediaData getSelectedLocalCache() {
-        if (homeViewModel.selectedChannel.get() != null && homeViewModel.selectedChannel.get().equals(CatalogProvider.NESN_PLUS)) {
-            return localPlusCache;
-        } else {
-            return localNesnCache;
+    private void register(String key, SubscriptionRegistry.Job job) {
+        subscriptions.register(key, job);
+        metrics.record(METRIC_LIVE_SUBSCRIPTIONS, subscriptions.getLiveCount(), ScheduleMetrics.COUNT_BUCKETS);
+    }
+
+    private void register(String key, Subscription subscription) {
+        subscriptions.register(key, subscription);
+        metrics.record(METRIC_LIVE_SUBSCRIPTIONS, subscriptions.getLiveCount(), ScheduleMetrics.COUNT_BUCKETS);
+    }
+
+    private static String jobKey(String job, List<ScheduleChannel> toLoad) {
+        StringBuilder key = new StringBuilder(job);
+        for (ScheduleChannel channel : toLoad) {
+            key.append(':').append(channel.getId());
         }
+        return key.toString();
     }
 
     public String getAuthProvider() {
@@ -0,0 +1,55 @@
+package com.nesn.nesnplayer.home;
+
+import org.joda.time.DateTime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MidnightRefreshPlanner
+ *
+ * Splits the day rollover in two: the UI rolls over at exactly midnight from data that
+ * is already cached, while the network revalidation is pushed to a per-device offset
+ * inside a spread window so the fleet does not hit the catalog at the same instant.
+ */
+public class MidnightRefreshPlanner {
+
+    public static final long DEFAULT_SPREAD_WINDOW_MS = TimeUnit.MINUTES.toMillis(60);
+
+    private final long spreadWindowMillis;
+    private final long jitterMillis;
+
+    public MidnightRefreshPlanner(long spreadWindowMillis, long deviceSeed) {
+        this.spreadWindowMillis = Math.max(0, spreadWindowMillis);
+        this.jitterMillis = this.spreadWindowMillis == 0
+                ? 0
+                : Math.abs(mix(deviceSeed) % this.spreadWindowMillis);
+    }
+
+    /**
+     * Next local midnight after {@code nowMillis}, when the UI rolls over.
+     */
+    public long nextRollover(long nowMillis) {
+        return new DateTime(nowMillis).plusDays(1).withTimeAtStartOfDay().getMillis();
+    }
+
+    /**
+     * When this device should revalidate the catalog for the rollover at {@code rolloverMillis}.
+     */
+    public long revalidationAt(long rolloverMillis) {
+        return rolloverMillis + jitterMillis;
+    }
+
+    public long getSpreadWindowMillis() {
+        return spreadWindowMillis;
+    }
+
+    /**
+     * Spreads nearby seeds (e.g. sequential ids) across the whole window.
+     */
+    private static long mix(long seed) {
+        long z = seed + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
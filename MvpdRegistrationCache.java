@@ -0,0 +1,166 @@
+package com.nesn.nesnplayer.auth;
+
+import com.bamtech.sdk.activation.ActivationManager;
+import com.bamtech.sdk.api.models.activation.MVPDRegistration;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * MvpdRegistrationCache
+ *
+ * Fetches the MVPD registration ahead of time (while the user is on the home screen) and
+ * refreshes it shortly before {@link MVPDRegistration#getExpiresAt()}, so the sign-in
+ * screen can load the activation page without waiting on the activation service.
+ */
+@Singleton
+public class MvpdRegistrationCache {
+
+    private static final long REFRESH_MARGIN_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final ActivationManager activationManager;
+
+    private MVPDRegistration registration;
+    private Observable<MVPDRegistration> inFlight;
+    private Subscription refreshTimer;
+    private boolean prefetching;
+
+    @Inject
+    public MvpdRegistrationCache(ActivationManager activationManager) {
+        this.activationManager = activationManager;
+    }
+
+    /**
+     * Emits a registration that is valid for at least the refresh margin, from cache when possible.
+     */
+    public synchronized Observable<MVPDRegistration> getRegistration() {
+        if (isFresh(registration)) {
+            return Observable.just(registration);
+        }
+
+        if (inFlight == null) {
+            inFlight = activationManager.getMVPDRegistration()
+                    .subscribeOn(Schedulers.io())
+                    .doOnNext(new Action1<MVPDRegistration>() {
+                        @Override
+                        public void call(MVPDRegistration mvpdRegistration) {
+                            onRegistration(mvpdRegistration);
+                        }
+                    })
+                    .doOnTerminate(new Action0() {
+                        @Override
+                        public void call() {
+                            synchronized (MvpdRegistrationCache.this) {
+                                inFlight = null;
+                            }
+                        }
+                    })
+                    .cache();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Keeps a fresh registration around until {@link #stopPrefetching()}.
+     */
+    public synchronized void startPrefetching() {
+        prefetching = true;
+        if (isFresh(registration)) {
+            scheduleRefresh(registration);
+        } else {
+            prefetch();
+        }
+    }
+
+    public synchronized void stopPrefetching() {
+        prefetching = false;
+        if (refreshTimer != null) {
+            refreshTimer.unsubscribe();
+            refreshTimer = null;
+        }
+    }
+
+    /**
+     * A registration is single use, drop it once it has been activated.
+     */
+    public synchronized void invalidate() {
+        registration = null;
+    }
+
+    private void prefetch() {
+        getRegistration().subscribe(new Subscriber<MVPDRegistration>() {
+            @Override
+            public void onCompleted() {
+
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                Timber.d("MVPD registration prefetch failed: " + e);
+            }
+
+            @Override
+            public void onNext(MVPDRegistration mvpdRegistration) {
+
+            }
+        });
+    }
+
+    private synchronized void onRegistration(MVPDRegistration mvpdRegistration) {
+        registration = mvpdRegistration;
+        if (prefetching) {
+            scheduleRefresh(mvpdRegistration);
+        }
+    }
+
+    private void scheduleRefresh(MVPDRegistration mvpdRegistration) {
+        if (refreshTimer != null) {
+            refreshTimer.unsubscribe();
+        }
+
+        long delay = Math.max(0, refreshAt(mvpdRegistration) - System.currentTimeMillis());
+        refreshTimer = Observable.timer(delay, TimeUnit.MILLISECONDS)
+                .subscribe(new Subscriber<Long>() {
+                    @Override
+                    public void onCompleted() {
+
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        Timber.e(e);
+                    }
+
+                    @Override
+                    public void onNext(Long aLong) {
+                        synchronized (MvpdRegistrationCache.this) {
+                            refreshTimer = null;
+                            if (prefetching) {
+                                registration = null;
+                                prefetch();
+                            }
+                        }
+                    }
+                });
+    }
+
+    private static long refreshAt(MVPDRegistration mvpdRegistration) {
+        return mvpdRegistration.getExpiresAt().getMillis() - REFRESH_MARGIN_MS;
+    }
+
+    private static boolean isFresh(MVPDRegistration mvpdRegistration) {
+        return mvpdRegistration != null
+                && mvpdRegistration.getExpiresAt() != null
+                && System.currentTimeMillis() < refreshAt(mvpdRegistration);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nesn.nesnplayer.home;
+
+import android.util.Pair;
+
+import com.nesn.nesnplayer.core.PreferenceWriteBehind;
+import com.nesn.nesnplayer.sdkclient.catalog.MvpdProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * MvpdRegistry
+ *
+ * One record per MVPD (display name, logo URL, navigation URI), resolved from
+ * {@link MvpdProvider} and the navigation map once and then served from memory. Records are
+ * persisted so a provider that cannot be resolved yet (e.g. provider list not loaded)
+ * still shows its last known name and logo; such a provider is resolved again on the next
+ * lookup. Returning the same instances on every lookup also keeps bound fields from
+ * re-notifying, which would reload the logo.
+ */
+public class MvpdRegistry {
+
+    private static final String PREFERENCE_PREFIX = "mvpd_registry_";
+    private static final String SEPARATOR = "\u001f";
+
+    /**
+     * Record
+     */
+    public static final class Record {
+        public final String id;
+        public final String displayName;
+        public final String logoUrl;
+        public final String navigationUri;
+
+        Record(String id, String displayName, String logoUrl, String navigationUri) {
+            this.id = id;
+            this.displayName = displayName;
+            this.logoUrl = logoUrl;
+            this.navigationUri = navigationUri;
+        }
+
+        String encode() {
+            return nullToEmpty(displayName) + SEPARATOR + nullToEmpty(logoUrl) + SEPARATOR + nullToEmpty(navigationUri);
+        }
+
+        static Record decode(String id, String encoded) {
+            String[] parts = encoded.split(SEPARATOR, -1);
+            if (parts.length != 3) {
+                return null;
+            }
+            return new Record(id, emptyToNull(parts[0]), emptyToNull(parts[1]), emptyToNull(parts[2]));
+        }
+    }
+
+    private final MvpdProvider mvpdProvider;
+    private final Map<String, String> navigationMap;
+    private final PreferenceWriteBehind preferences;
+    private final Map<String, Record> records = new HashMap<>();
+    private final Map<String, Record> persistedRecords = new HashMap<>();
+
+    public MvpdRegistry(MvpdProvider mvpdProvider, Map<String, String> navigationMap, PreferenceWriteBehind preferences) {
+        this.mvpdProvider = mvpdProvider;
+        this.navigationMap = navigationMap;
+        this.preferences = preferences;
+    }
+
+    public Record get(String id) {
+        String key = id != null ? id : "";
+        Record record = records.get(key);
+        if (record != null) {
+            return record;
+        }
+
+        record = resolve(key);
+        if (record == null) {
+            // not memoized, so a provider list that loads later is still picked up
+            return getPersisted(key);
+        }
+
+        String encoded = record.encode();
+        if (!encoded.equals(preferences.getStringPreference(PREFERENCE_PREFIX + key))) {
+            preferences.saveStringPreference(PREFERENCE_PREFIX + key, encoded);
+        }
+        persistedRecords.remove(key);
+        records.put(key, record);
+        return record;
+    }
+
+    private Record getPersisted(String id) {
+        Record record = persistedRecords.get(id);
+        if (record == null) {
+            String persisted = preferences.getStringPreference(PREFERENCE_PREFIX + id);
+            record = persisted != null ? Record.decode(id, persisted) : null;
+            if (record == null) {
+                record = new Record(id, null, null, navigationMap.get(id));
+            }
+            persistedRecords.put(id, record);
+        }
+        return record;
+    }
+
+    private Record resolve(String id) {
+        Pair<String, String> nameAndLogo = mvpdProvider.getProviderNameAndLogoUrl(id);
+        if (nameAndLogo == null || (nameAndLogo.first == null && nameAndLogo.second == null)) {
+            return null;
+        }
+        return new Record(id, nameAndLogo.first, nameAndLogo.second, navigationMap.get(id));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,173 @@
+package com.nesn.nesnplayer.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * PreferenceWriteBehind
+ *
+ * Write-behind front for {@link SharedPreferenceHelper}. Writes from the main thread are
+ * queued and flushed together on a background worker; writes that do not change the
+ * stored value are dropped. Reads see queued values, so callers never observe a write
+ * going missing. Use {@link #edit()} to queue several values as one unit. Application
+ * wide, so screens should flush it when they pause.
+ */
+@Singleton
+public class PreferenceWriteBehind {
+
+    private final SharedPreferenceHelper sharedPreferenceHelper;
+    private Scheduler.Worker worker;
+    private final Map<String, Object> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    @Inject
+    public PreferenceWriteBehind(SharedPreferenceHelper sharedPreferenceHelper) {
+        this.sharedPreferenceHelper = sharedPreferenceHelper;
+    }
+
+    public void saveBooleanPreference(String key, boolean value) {
+        edit().putBoolean(key, value).apply();
+    }
+
+    public void saveLongPreference(String key, long value) {
+        edit().putLong(key, value).apply();
+    }
+
+    public void saveStringPreference(String key, String value) {
+        edit().putString(key, value).apply();
+    }
+
+    public synchronized boolean getBooleanPreference(String key) {
+        Object value = pending.get(key);
+        return value instanceof Boolean ? (Boolean) value : sharedPreferenceHelper.getBooleanPreference(key);
+    }
+
+    public synchronized long getLongPreference(String key) {
+        Object value = pending.get(key);
+        return value instanceof Long ? (Long) value : sharedPreferenceHelper.getLongPreference(key);
+    }
+
+    public synchronized String getStringPreference(String key) {
+        if (pending.containsKey(key)) {
+            return (String) pending.get(key);
+        }
+        return sharedPreferenceHelper.getStringPreference(key);
+    }
+
+    public Editor edit() {
+        return new Editor();
+    }
+
+    /**
+     * Writes everything queued so far on the calling thread.
+     */
+    public void flush() {
+        Map<String, Object> writes;
+        synchronized (this) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            writes = new LinkedHashMap<>(pending);
+        }
+
+        for (Map.Entry<String, Object> write : writes.entrySet()) {
+            Object value = write.getValue();
+            if (value instanceof Boolean) {
+                sharedPreferenceHelper.saveBooleanPreference(write.getKey(), (Boolean) value);
+            } else if (value instanceof Long) {
+                sharedPreferenceHelper.saveLongPreference(write.getKey(), (Long) value);
+            } else {
+                sharedPreferenceHelper.saveStringPreference(write.getKey(), (String) value);
+            }
+        }
+
+        synchronized (this) {
+            // drop what was written unless it was overwritten meanwhile
+            for (Map.Entry<String, Object> write : writes.entrySet()) {
+                Object current = pending.get(write.getKey());
+                if (current == write.getValue()) {
+                    pending.remove(write.getKey());
+                }
+            }
+        }
+    }
+
+    private synchronized void enqueue(Map<String, Object> values) {
+        boolean changed = false;
+        for (Map.Entry<String, Object> value : values.entrySet()) {
+            if (!isCurrent(value.getKey(), value.getValue())) {
+                pending.put(value.getKey(), value.getValue());
+                changed = true;
+            }
+        }
+
+        if (changed && !flushScheduled) {
+            flushScheduled = true;
+            if (worker == null) {
+                // created on the first write, an instance that is never written to holds none
+                worker = Schedulers.io().createWorker();
+            }
+            worker.schedule(new Action0() {
+                @Override
+                public void call() {
+                    try {
+                        flush();
+                    } catch (RuntimeException e) {
+                        Timber.e(e, "Error writing preferences");
+                    }
+                }
+            });
+        }
+    }
+
+    private boolean isCurrent(String key, Object value) {
+        Object current;
+        if (value instanceof Boolean) {
+            current = getBooleanPreference(key);
+        } else if (value instanceof Long) {
+            current = getLongPreference(key);
+        } else {
+            current = getStringPreference(key);
+        }
+        return value == null ? current == null : value.equals(current);
+    }
+
+    /**
+     * Editor
+     */
+    public class Editor {
+
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        public Editor putBoolean(String key, boolean value) {
+            values.put(key, value);
+            return this;
+        }
+
+        public Editor putLong(String key, long value) {
+            values.put(key, value);
+            return this;
+        }
+
+        public Editor putString(String key, String value) {
+            values.put(key, value);
+            return this;
+        }
+
+        /**
+         * Queues all values at once; they are written in the same background pass.
+         */
+        public void apply() {
+            enqueue(values);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.nesn.nesnplayer.home;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.android.schedulers.AndroidSchedulers;
+import timber.log.Timber;
+
+/**
+ * ProgramBoundaryScheduler
+ *
+ * Holds the next program transition per channel and keeps a single timer armed for the
+ * earliest one. Scheduling a channel replaces its previous boundary, so repeated
+ * mapSchedule passes never stack timers. Callbacks are delivered on the main thread.
+ */
+public class ProgramBoundaryScheduler {
+
+    /**
+     * Listener
+     */
+    public interface Listener {
+        /**
+         * @param lateMillis how long after the boundary the callback runs
+         */
+        void onProgramBoundary(String channel, long lateMillis);
+    }
+
+    private final Listener listener;
+    private final Map<String, Long> boundaries = new HashMap<>();
+    private Subscription timerSubscription;
+    private long armedAt = Long.MAX_VALUE;
+
+    public ProgramBoundaryScheduler(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Sets (or replaces) the next boundary for the channel.
+     */
+    public void schedule(String channel, long boundaryMillis) {
+        Long previous = boundaries.put(channel, boundaryMillis);
+        if (previous == null || previous != boundaryMillis || timerSubscription == null) {
+            rearm();
+        }
+    }
+
+    /**
+     * Drops the boundary for the channel, e.g. when it has no upcoming airings.
+     */
+    public void clear(String channel) {
+        if (boundaries.remove(channel) != null) {
+            rearm();
+        }
+    }
+
+    /**
+     * Stops the timer and forgets every boundary.
+     */
+    public void cancel() {
+        boundaries.clear();
+        unsubscribeTimer();
+    }
+
+    private void rearm() {
+        long earliest = Long.MAX_VALUE;
+        for (Long boundary : boundaries.values()) {
+            earliest = Math.min(earliest, boundary);
+        }
+
+        if (earliest == armedAt && timerSubscription != null && !timerSubscription.isUnsubscribed()) {
+            return;
+        }
+
+        unsubscribeTimer();
+        if (earliest == Long.MAX_VALUE) {
+            return;
+        }
+
+        armedAt = earliest;
+        long duration = Math.max(0, earliest - System.currentTimeMillis());
+        timerSubscription = Observable.timer(duration, TimeUnit.MILLISECONDS)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(new Subscriber<Long>() {
+                    @Override
+                    public void onCompleted() {
+
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        Timber.e(e);
+                    }
+
+                    @Override
+                    public void onNext(Long aLong) {
+                        timerSubscription = null;
+                        armedAt = Long.MAX_VALUE;
+                        fireDue();
+                    }
+                });
+    }
+
+    private void fireDue() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> due = new HashMap<>();
+        for (Map.Entry<String, Long> entry : boundaries.entrySet()) {
+            if (entry.getValue() <= now) {
+                due.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (String channel : due.keySet()) {
+            boundaries.remove(channel);
+        }
+
+        // listeners normally schedule the following boundary, which re-arms the timer
+        for (Map.Entry<String, Long> entry : due.entrySet()) {
+            Timber.d("Program boundary for " + entry.getKey());
+            listener.onProgramBoundary(entry.getKey(), now - entry.getValue());
+        }
+
+        rearm();
+    }
+
+    private void unsubscribeTimer() {
+        if (timerSubscription != null) {
+            timerSubscription.unsubscribe();
+            timerSubscription = null;
+        }
+        armedAt = Long.MAX_VALUE;
+    }
+}
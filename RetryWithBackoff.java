@@ -0,0 +1,68 @@
+package com.nesn.nesnplayer.home;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * RetryWithBackoff
+ *
+ * {@code retryWhen} handler that resubscribes a failed request up to {@code maxRetries}
+ * times, waiting a randomized, exponentially growing delay between attempts so clients
+ * that failed together do not retry together. The delay runs on the io scheduler, so the
+ * resubscribed request does its network I/O there rather than on the computation pool.
+ */
+public class RetryWithBackoff implements Func1<Observable<? extends Throwable>, Observable<?>> {
+
+    public static final int DEFAULT_MAX_RETRIES = 4;
+    public static final long DEFAULT_BASE_DELAY_MS = TimeUnit.SECONDS.toMillis(1);
+    public static final long DEFAULT_MAX_DELAY_MS = TimeUnit.SECONDS.toMillis(30);
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Random random = new Random();
+
+    public RetryWithBackoff() {
+        this(DEFAULT_MAX_RETRIES, DEFAULT_BASE_DELAY_MS, DEFAULT_MAX_DELAY_MS);
+    }
+
+    public RetryWithBackoff(int maxRetries, long baseDelayMillis, long maxDelayMillis) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    @Override
+    public Observable<?> call(Observable<? extends Throwable> errors) {
+        // one counter per subscription
+        final int[] attempt = {0};
+        return errors.flatMap(new Func1<Throwable, Observable<Long>>() {
+            @Override
+            public Observable<Long> call(Throwable throwable) {
+                if (++attempt[0] > maxRetries) {
+                    return Observable.error(throwable);
+                }
+
+                long delay = delayFor(attempt[0]);
+                Timber.d("Retry " + attempt[0] + " of " + maxRetries + " in " + delay + "ms: " + throwable);
+                return Observable.timer(delay, TimeUnit.MILLISECONDS, Schedulers.io());
+            }
+        });
+    }
+
+    /**
+     * Half of the exponential step is fixed, the other half random ("equal jitter").
+     */
+    long delayFor(int attempt) {
+        long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        long half = exponential / 2;
+        synchronized (random) {
+            return half + (long) (random.nextDouble() * (exponential - half));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.nesn.nesnplayer.home;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduleCachePolicy
+ *
+ * Decides whether a cached channel schedule can be shown as is, shown while it is
+ * revalidated in the background, or must be reloaded before it is shown.
+ */
+public class ScheduleCachePolicy {
+
+    public static final long DEFAULT_TTL_MS = TimeUnit.MINUTES.toMillis(30);
+    public static final long DEFAULT_MAX_STALENESS_MS = TimeUnit.HOURS.toMillis(12);
+
+    /**
+     * Decision
+     */
+    public enum Decision {
+        /** Cache is within its TTL, show it and do not touch the network. */
+        FRESH,
+        /** Cache is past its TTL but within the staleness cap, show it and refresh quietly. */
+        STALE_REVALIDATE,
+        /** Nothing usable cached, load with the loading screen up. */
+        RELOAD
+    }
+
+    private final long defaultTtlMillis;
+    private final long maxStalenessMillis;
+    private final boolean serveStaleWhileRevalidate;
+
+    public ScheduleCachePolicy(long defaultTtlMillis, long maxStalenessMillis, boolean serveStaleWhileRevalidate) {
+        this.defaultTtlMillis = defaultTtlMillis;
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.serveStaleWhileRevalidate = serveStaleWhileRevalidate;
+    }
+
+    /**
+     * @param fetchedAt         wall clock time the cached data was fetched, 0 if unknown
+     * @param ttlMillis         the channel's own TTL, 0 for the default TTL
+     * @param lastRefreshFailed the last attempt to refresh failed, so the TTL is not trusted
+     */
+    public Decision evaluate(boolean hasData, long fetchedAt, long ttlMillis, boolean lastRefreshFailed, long now) {
+        if (!hasData || !isUsable(fetchedAt, now)) {
+            return Decision.RELOAD;
+        }
+
+        long age = now - fetchedAt;
+        if (!lastRefreshFailed && age <= getTtl(ttlMillis)) {
+            return Decision.FRESH;
+        }
+        return serveStaleWhileRevalidate ? Decision.STALE_REVALIDATE : Decision.RELOAD;
+    }
+
+    /**
+     * The TTL that applies to a channel whose own TTL is {@code ttlMillis}.
+     */
+    private long getTtl(long ttlMillis) {
+        return ttlMillis > 0 ? ttlMillis : defaultTtlMillis;
+    }
+
+    /**
+     * Whether data fetched at {@code fetchedAt} may still be shown at all.
+     */
+    public boolean isUsable(long fetchedAt, long now) {
+        long age = now - fetchedAt;
+        // a clock moved backwards past the fetch time is not trusted either
+        return fetchedAt > 0 && age >= 0 && age <= maxStalenessMillis;
+    }
+}
@@ -0,0 +1,148 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ScheduleChannel
+ *
+ * One channel of the schedule screen: where its catalog comes from, how many days are
+ * loaded, how long a load stays fresh, plus its cache entry (the loaded
+ * {@link MediaData}, when it was fetched, and the single days merged in at day rollovers
+ * since). The entry is empty until the channel is first loaded and again after it has
+ * been evicted.
+ */
+public class ScheduleChannel {
+
+    private final String id;
+    private final CatalogRequestCoalescer.Source source;
+    private final int daysRange;
+    private final String screenName;
+
+    private long ttlMillis;
+    private String fallbackId;
+    private String headerTitle;
+    private boolean previewed;
+
+    private MediaData data;
+    private long fetchedAt;
+    private final List<MediaData> mergedDays = new ArrayList<>();
+
+    public ScheduleChannel(String id, CatalogRequestCoalescer.Source source, int daysRange, String screenName) {
+        this.id = id;
+        this.source = source;
+        this.daysRange = daysRange;
+        this.screenName = screenName;
+    }
+
+    /**
+     * Time a load stays fresh, 0 (default) to use the cache policy's default.
+     */
+    public ScheduleChannel setTtl(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        return this;
+    }
+
+    /**
+     * Channel whose data is shown while this channel has none of its own.
+     */
+    public ScheduleChannel setFallback(String fallbackId) {
+        this.fallbackId = fallbackId;
+        return this;
+    }
+
+    /**
+     * Fixed header shown while the channel is selected, null (default) for today's date.
+     */
+    public ScheduleChannel setHeaderTitle(String headerTitle) {
+        this.headerTitle = headerTitle;
+        return this;
+    }
+
+    /**
+     * Previewed channels are on screen without being selected, so they are loaded eagerly.
+     */
+    public ScheduleChannel setPreviewed(boolean previewed) {
+        this.previewed = previewed;
+        return this;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public CatalogRequestCoalescer.Source getSource() {
+        return source;
+    }
+
+    public int getDaysRange() {
+        return daysRange;
+    }
+
+    public String getScreenName() {
+        return screenName;
+    }
+
+    public long getTtl() {
+        return ttlMillis;
+    }
+
+    public String getFallbackId() {
+        return fallbackId;
+    }
+
+    public String getHeaderTitle() {
+        return headerTitle;
+    }
+
+    public boolean isPreviewed() {
+        return previewed;
+    }
+
+    public MediaData getData() {
+        return data;
+    }
+
+    /**
+     * Wall clock time the data was fetched, 0 when unknown or not counted as a refresh.
+     */
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * Days merged into the data since it was loaded, oldest first. A copy, safe to hand to
+     * a background scheduler.
+     */
+    public List<MediaData> getMergedDays() {
+        return new ArrayList<>(mergedDays);
+    }
+
+    /**
+     * New data replaces the days merged into the previous data.
+     */
+    public void setData(MediaData data, long fetchedAt) {
+        this.data = data;
+        this.fetchedAt = fetchedAt;
+        this.mergedDays.clear();
+    }
+
+    /**
+     * Adds a day fetched at a rollover. Once more days were merged than the window holds,
+     * the loaded data no longer contributes and the oldest day is dropped.
+     */
+    public void addMergedDay(MediaData day) {
+        mergedDays.add(day);
+        if (mergedDays.size() > daysRange) {
+            mergedDays.remove(0);
+        }
+    }
+
+    public void evict() {
+        this.data = null;
+        this.fetchedAt = 0;
+        this.mergedDays.clear();
+    }
+}
@@ -0,0 +1,133 @@
+package com.nesn.nesnplayer.home;
+
+import android.content.ComponentCallbacks2;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScheduleChannelRegistry
+ *
+ * The channels of the schedule screen, in display order. The first channel registered
+ * is the primary one: it drives the loading screen and is never evicted. Previewed
+ * channels and the selected channel are visible and loaded eagerly; every other
+ * channel is only loaded once it is selected, so startup cost does not grow with the
+ * number of channels. Main thread only.
+ */
+public class ScheduleChannelRegistry {
+
+    private final Map<String, ScheduleChannel> channels = new LinkedHashMap<>();
+    private ScheduleChannel primary;
+
+    public void register(ScheduleChannel channel) {
+        channels.put(channel.getId(), channel);
+        if (primary == null) {
+            primary = channel;
+        }
+    }
+
+    /**
+     * Registered channel, or null for an unknown id.
+     */
+    public ScheduleChannel get(String id) {
+        return id != null ? channels.get(id) : null;
+    }
+
+    /**
+     * Registered channel, or the primary channel for an unknown or missing id.
+     */
+    public ScheduleChannel getOrPrimary(String id) {
+        ScheduleChannel channel = get(id);
+        return channel != null ? channel : primary;
+    }
+
+    public ScheduleChannel getPrimary() {
+        return primary;
+    }
+
+    public boolean isPrimary(String id) {
+        return primary != null && primary.getId().equals(id);
+    }
+
+    /**
+     * Data to show for the channel: its own, or its fallback channel's while it has none.
+     */
+    public MediaData getData(String id) {
+        ScheduleChannel channel = get(id);
+        if (channel == null) {
+            return null;
+        }
+
+        if (channel.getData() == null && channel.getFallbackId() != null) {
+            ScheduleChannel fallback = get(channel.getFallbackId());
+            return fallback != null ? fallback.getData() : null;
+        }
+        return channel.getData();
+    }
+
+    /**
+     * Days merged into the data returned by {@link #getData(String)}, oldest first.
+     */
+    public List<MediaData> getMergedDays(String id) {
+        ScheduleChannel channel = get(id);
+        if (channel == null) {
+            return Collections.emptyList();
+        }
+
+        if (channel.getData() == null && channel.getFallbackId() != null) {
+            ScheduleChannel fallback = get(channel.getFallbackId());
+            return fallback != null ? fallback.getMergedDays() : Collections.<MediaData>emptyList();
+        }
+        return channel.getMergedDays();
+    }
+
+    /**
+     * Primary, previewed and selected channels, in display order.
+     */
+    public List<ScheduleChannel> getVisible(String selectedId) {
+        List<ScheduleChannel> visible = new ArrayList<>();
+        for (ScheduleChannel channel : channels.values()) {
+            if (channel == primary || channel.isPreviewed() || channel.getId().equals(selectedId)) {
+                visible.add(channel);
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Drops cached data as the system runs low on memory: channels that are not visible
+     * while the app is running low, everything but the primary channel once the app is
+     * in the background. Evicted channels are loaded again when they become visible.
+     *
+     * @return the evicted channels
+     */
+    public List<ScheduleChannel> trimMemory(int level, String selectedId) {
+        List<ScheduleChannel> evicted = new ArrayList<>();
+        // TRIM_MEMORY_UI_HIDDEN (20) lies between the running and background levels and
+        // only means the UI went away, so the levels are compared explicitly
+        boolean running = level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL;
+        boolean background = level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND;
+        if (!running && !background) {
+            return evicted;
+        }
+
+        List<ScheduleChannel> visible = getVisible(selectedId);
+        for (ScheduleChannel channel : channels.values()) {
+            if (channel == primary || channel.getData() == null) {
+                continue;
+            }
+
+            if (background || !visible.contains(channel)) {
+                channel.evict();
+                evicted.add(channel);
+            }
+        }
+        return evicted;
+    }
+}
@@ -0,0 +1,260 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * ScheduleDiskCache
+ *
+ * Keeps the last good {@link MediaData} per channel on disk, together with the days merged
+ * into it at day rollovers, so a cold start can paint the same schedule the screen last
+ * showed before the catalog answers. Entries are gzipped java serialization,
+ * written to a temp file and renamed only once fully written, so a failed write or a
+ * killed process never replaces a good entry with a torn one. Catalog data that is not
+ * {@link Serializable} is not persisted at all.
+ */
+public class ScheduleDiskCache {
+
+    private static final String FILE_PREFIX = "schedule_";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int FORMAT_VERSION = 2;
+
+    private final File cacheDir;
+    private boolean loggedNotSerializable;
+
+    public ScheduleDiskCache(File cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Entry
+     */
+    public static class Entry {
+        public final MediaData mediaData;
+        public final List<MediaData> mergedDays;
+        public final long savedAt;
+
+        Entry(MediaData mediaData, List<MediaData> mergedDays, long savedAt) {
+            this.mediaData = mediaData;
+            this.mergedDays = mergedDays;
+            this.savedAt = savedAt;
+        }
+    }
+
+    /**
+     * Emits the stored entry for the channel, or completes empty when there is none.
+     * Runs on the io scheduler.
+     */
+    public Observable<Entry> read(final String channel) {
+        return Observable.fromCallable(new Callable<Entry>() {
+                    @Override
+                    public Entry call() throws Exception {
+                        return readEntry(channel);
+                    }
+                })
+                .filter(new Func1<Entry, Boolean>() {
+                    @Override
+                    public Boolean call(Entry entry) {
+                        return entry != null;
+                    }
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Emits when the stored entry for the channel was saved, or completes empty when there
+     * is none. Only the header is read, the schedule itself is not deserialized. Runs on
+     * the io scheduler.
+     */
+    public Observable<Long> readSavedAt(final String channel) {
+        return Observable.fromCallable(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        return readSavedAtEntry(channel);
+                    }
+                })
+                .filter(new Func1<Long, Boolean>() {
+                    @Override
+                    public Boolean call(Long savedAt) {
+                        return savedAt != null;
+                    }
+                })
+                .subscribeOn(Schedulers.io());
+    }
+
+    /**
+     * Writes the entry off the main thread. Failures are logged and dropped, the
+     * network copy stays authoritative.
+     *
+     * @param savedAt wall clock time {@code mediaData} was fetched; merging days in does not
+     *                make the loaded window any fresher
+     */
+    public void write(final String channel, final MediaData mediaData, List<MediaData> mergedDays, final long savedAt) {
+        if (mediaData == null) {
+            return;
+        }
+
+        final ArrayList<MediaData> days = new ArrayList<>(mergedDays);
+        if (!isSerializable(mediaData) || !isSerializable(days)) {
+            return;
+        }
+
+        Observable.fromCallable(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        writeEntry(channel, mediaData, days, savedAt);
+                        return true;
+                    }
+                })
+                .subscribeOn(Schedulers.io())
+                .subscribe(new Subscriber<Boolean>() {
+                    @Override
+                    public void onCompleted() {
+
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        Timber.e(e, "Error writing schedule cache for " + channel);
+                    }
+
+                    @Override
+                    public void onNext(Boolean written) {
+
+                    }
+                });
+    }
+
+    private Entry readEntry(String channel) {
+        File file = fileFor(channel);
+        if (!file.exists()) {
+            return null;
+        }
+
+        ObjectInputStream in = null;
+        try {
+            in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long savedAt = in.readLong();
+            MediaData mediaData = (MediaData) in.readObject();
+            @SuppressWarnings("unchecked")
+            List<MediaData> mergedDays = (List<MediaData>) in.readObject();
+            return new Entry(mediaData, Collections.unmodifiableList(mergedDays), savedAt);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            Timber.e(e, "Discarding unreadable schedule cache for " + channel);
+            file.delete();
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private Long readSavedAtEntry(String channel) {
+        File file = fileFor(channel);
+        if (!file.exists()) {
+            return null;
+        }
+
+        ObjectInputStream in = null;
+        try {
+            in = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))));
+            return in.readInt() == FORMAT_VERSION ? in.readLong() : null;
+        } catch (IOException e) {
+            // left to read() to discard
+            return null;
+        } finally {
+            closeQuietly(in);
+        }
+    }
+
+    private synchronized void writeEntry(String channel, MediaData mediaData, ArrayList<MediaData> mergedDays,
+                                         long savedAt) throws IOException {
+        if (!cacheDir.exists() && !cacheDir.mkdirs()) {
+            throw new IOException("Unable to create " + cacheDir);
+        }
+
+        File target = fileFor(channel);
+        File temp = new File(cacheDir, target.getName() + TEMP_SUFFIX);
+
+        ObjectOutputStream out = null;
+        try {
+            out = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(temp))));
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(savedAt);
+            out.writeObject(mediaData);
+            out.writeObject(mergedDays);
+
+            // closing writes the gzip trailer, a failure here leaves a torn file
+            ObjectOutputStream written = out;
+            out = null;
+            written.close();
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(out);
+            temp.delete();
+            throw e;
+        }
+
+        if (!temp.renameTo(target)) {
+            temp.delete();
+            throw new IOException("Unable to replace " + target);
+        }
+    }
+
+    private boolean isSerializable(MediaData mediaData) {
+        if (!(mediaData instanceof Serializable)) {
+            if (!loggedNotSerializable) {
+                loggedNotSerializable = true;
+                Timber.w(mediaData.getClass().getName() + " is not Serializable, schedule is not persisted");
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isSerializable(List<MediaData> mergedDays) {
+        for (MediaData day : mergedDays) {
+            if (!isSerializable(day)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private File fileFor(String channel) {
+        return new File(cacheDir, FILE_PREFIX + channel.replaceAll("[^A-Za-z0-9_]", "_"));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // nothing to do
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+
+/**
+ * ScheduleFlagState
+ *
+ * Remembers which airing of a channel currently carries the ON NOW / UP NEXT flag, so a
+ * transition only touches the previously flagged airing and the newly flagged one.
+ */
+public class ScheduleFlagState {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private ScheduleIndex scheduleIndex;
+    private int flaggedPosition = -1;
+    private int flagType = Airing.FLAG_NONE;
+
+    /**
+     * Moves the flag to {@code position} of {@code index} (-1 for none) and returns the
+     * positions in that index whose flag changed.
+     */
+    public int[] update(ScheduleIndex index, int position, int newFlagType) {
+        if (index != scheduleIndex) {
+            return reset(index, position, newFlagType);
+        }
+
+        if (position == flaggedPosition && newFlagType == flagType) {
+            return NO_ROWS;
+        }
+
+        int oldPosition = flaggedPosition;
+        Airing oldAiring = index.get(oldPosition);
+        if (oldAiring != null) {
+            oldAiring.setFlagType(Airing.FLAG_NONE);
+        }
+        flag(index, position, newFlagType);
+
+        if (oldPosition < 0 || oldPosition == position) {
+            return position < 0 ? NO_ROWS : new int[]{position};
+        } else if (position < 0) {
+            return new int[]{oldPosition};
+        }
+        return new int[]{oldPosition, position};
+    }
+
+    public int getFlaggedPosition() {
+        return flaggedPosition;
+    }
+
+    public int getFlagType() {
+        return flagType;
+    }
+
+    /**
+     * New data: flags may be left over from a previous session (e.g. a restored disk copy),
+     * so clear the whole list once per load rather than on every transition.
+     */
+    private int[] reset(ScheduleIndex index, int position, int newFlagType) {
+        if (scheduleIndex != null) {
+            Airing oldAiring = scheduleIndex.get(flaggedPosition);
+            if (oldAiring != null) {
+                oldAiring.setFlagType(Airing.FLAG_NONE);
+            }
+        }
+
+        for (int i = 0; i < index.size(); i++) {
+            index.get(i).setFlagType(Airing.FLAG_NONE);
+        }
+
+        scheduleIndex = index;
+        flag(index, position, newFlagType);
+        return position < 0 ? NO_ROWS : new int[]{position};
+    }
+
+    private void flag(ScheduleIndex index, int position, int newFlagType) {
+        Airing airing = index.get(position);
+        if (airing != null && newFlagType != Airing.FLAG_NONE) {
+            airing.setFlagType(newFlagType);
+            flaggedPosition = position;
+            flagType = newFlagType;
+        } else {
+            flaggedPosition = -1;
+            flagType = Airing.FLAG_NONE;
+        }
+    }
+}
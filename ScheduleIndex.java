@@ -0,0 +1,226 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * ScheduleIndex
+ *
+ * Airings of one channel sorted by start time, with the start / end epoch millis kept in
+ * primitive arrays so on-now and up-next lookups are binary searches over longs. A running
+ * maximum of the end times keeps the on-now lookup correct when airings overlap.
+ * Built once per {@link MediaData} load and treated as immutable afterwards.
+ */
+public class ScheduleIndex {
+
+    private static final Comparator<Airing> START_ORDER = new Comparator<Airing>() {
+        @Override
+        public int compare(Airing lhs, Airing rhs) {
+            long left = lhs.getStartDate().getMillis();
+            long right = rhs.getStartDate().getMillis();
+            return left < right ? -1 : (left == right ? 0 : 1);
+        }
+    };
+
+    private final MediaData source;
+    private final String channel;
+    private final List<Airing> airings;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ScheduleIndex(MediaData source, String channel, List<Airing> airings) {
+        this.source = source;
+        this.channel = channel;
+        this.airings = Collections.unmodifiableList(airings);
+        this.starts = new long[airings.size()];
+        this.ends = new long[airings.size()];
+
+        for (int i = 0; i < airings.size(); i++) {
+            Airing airing = airings.get(i);
+            starts[i] = airing.getStartDate().getMillis();
+            ends[i] = airing.getEndDate().getMillis();
+        }
+        this.maxEnds = maxEnds(ends);
+    }
+
+    public static ScheduleIndex build(MediaData mediaData, String channel) {
+        List<Airing> sorted = new ArrayList<>();
+        List<Airing> channelAirings = mediaData != null ? mediaData.getAiringsByChannel(channel) : null;
+
+        if (channelAirings != null) {
+            for (Airing airing : channelAirings) {
+                if (airing != null && airing.getStartDate() != null && airing.getEndDate() != null) {
+                    sorted.add(airing);
+                }
+            }
+            Collections.sort(sorted, START_ORDER);
+        }
+
+        return new ScheduleIndex(mediaData, channel, sorted);
+    }
+
+    /**
+     * Builds the index of {@code mediaData} with the days merged into it since it was
+     * loaded, see {@link #merge(List, long)}.
+     */
+    public static ScheduleIndex build(MediaData mediaData, List<MediaData> mergedDays, String channel,
+                                      long evictBefore) {
+        ScheduleIndex scheduleIndex = build(mediaData, channel);
+        if (mergedDays != null) {
+            for (MediaData day : mergedDays) {
+                scheduleIndex = scheduleIndex.merge(day.getAiringsByChannel(channel), evictBefore);
+            }
+        }
+        return scheduleIndex;
+    }
+
+    /**
+     * Returns a new index with {@code additions} merged in and every airing that ended
+     * before {@code evictBefore} dropped. The merged index keeps this index' source, so it
+     * keeps being served for the same {@link MediaData}.
+     */
+    public ScheduleIndex merge(List<Airing> additions, long evictBefore) {
+        List<Airing> merged = new ArrayList<>(airings.size() + (additions != null ? additions.size() : 0));
+        Set<String> keys = new HashSet<>();
+
+        if (additions != null) {
+            for (Airing airing : additions) {
+                if (airing != null && airing.getStartDate() != null && airing.getEndDate() != null
+                        && airing.getEndDate().getMillis() > evictBefore
+                        && keys.add(keyOf(airing))) {
+                    merged.add(airing);
+                }
+            }
+        }
+
+        for (int i = 0; i < airings.size(); i++) {
+            Airing airing = airings.get(i);
+            if (ends[i] > evictBefore && keys.add(keyOf(airing))) {
+                merged.add(airing);
+            }
+        }
+
+        Collections.sort(merged, START_ORDER);
+        return new ScheduleIndex(source, channel, merged);
+    }
+
+    /**
+     * End of the last airing in the index, or -1 when empty.
+     */
+    public long getCoveredUntil() {
+        return maxEnds.length > 0 ? maxEnds[maxEnds.length - 1] : -1;
+    }
+
+    public boolean isBuiltFrom(MediaData mediaData, String channel) {
+        return this.source == mediaData && this.channel.equals(channel);
+    }
+
+    public List<Airing> getAirings() {
+        return airings;
+    }
+
+    public int size() {
+        return airings.size();
+    }
+
+    public boolean isEmpty() {
+        return airings.isEmpty();
+    }
+
+    public Airing get(int index) {
+        return index >= 0 && index < airings.size() ? airings.get(index) : null;
+    }
+
+    public long getStartMillis(int index) {
+        return starts[index];
+    }
+
+    public long getEndMillis(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Index of the earliest starting airing covering {@code timeMillis}, or -1.
+     */
+    public int indexOfOnNow(long timeMillis) {
+        return onNowIndex(starts, maxEnds, timeMillis);
+    }
+
+    /**
+     * Index of the first airing starting after {@code timeMillis}, or -1.
+     */
+    public int indexOfNext(long timeMillis) {
+        return nextIndex(starts, timeMillis);
+    }
+
+    /**
+     * The first airing whose running maximum end is past {@code timeMillis} ends after it
+     * itself, since every airing before it ended in time. It is on now if it has started.
+     */
+    static int onNowIndex(long[] starts, long[] maxEnds, long timeMillis) {
+        int low = 0;
+        int high = maxEnds.length - 1;
+        int first = -1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (maxEnds[mid] > timeMillis) {
+                first = mid;
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return first >= 0 && starts[first] <= timeMillis ? first : -1;
+    }
+
+    static int nextIndex(long[] starts, long timeMillis) {
+        int next = floorIndex(starts, timeMillis) + 1;
+        return next < starts.length ? next : -1;
+    }
+
+    private static String keyOf(Airing airing) {
+        return airing.getContentId() + "@" + airing.getStartDate().getMillis();
+    }
+
+    /**
+     * Running maximum of {@code ends}, non-decreasing and so binary searchable.
+     */
+    static long[] maxEnds(long[] ends) {
+        long[] maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+        return maxEnds;
+    }
+
+    /**
+     * Last index whose start is at or before {@code timeMillis}, or -1.
+     */
+    static int floorIndex(long[] starts, long timeMillis) {
+        int low = 0;
+        int high = starts.length - 1;
+        int result = -1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (starts[mid] <= timeMillis) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+}
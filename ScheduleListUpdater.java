@@ -0,0 +1,119 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ScheduleListUpdater
+ *
+ * Applies a new airing list to the bound schedule list as granular insert / remove / set
+ * calls instead of clear-and-addAll, so an observable list only notifies the rows that
+ * actually changed. Both lists are expected in start-time order (see {@link ScheduleIndex}),
+ * which lets the change set be computed in a single merge pass; rows never move relative
+ * to each other in a time-sorted schedule, so moves show up as a remove plus an insert.
+ */
+public class ScheduleListUpdater {
+
+    private final List<Airing> applied = new ArrayList<>();
+    private List<Airing> appliedSource;
+    private String appliedChannel;
+    private int[] appliedFlags = new int[0];
+
+    /**
+     * Brings {@code target} in line with the airings of {@code channel}. When
+     * {@code airings} is the same list that was applied last time, only
+     * {@code changedRows} (may be null) are refreshed.
+     */
+    public void apply(List<Airing> target, String channel, List<Airing> airings, int[] changedRows) {
+        if (!channel.equals(appliedChannel) || applied.isEmpty()
+                || target.size() != applied.size() || !sameRows(target)) {
+            // different channel, or the bound list was changed behind our back: start over
+            target.clear();
+            target.addAll(airings);
+            remember(channel, airings);
+            return;
+        }
+
+        if (airings == appliedSource && changedRows != null) {
+            for (int row : changedRows) {
+                if (row >= 0 && row < airings.size()) {
+                    target.set(row, airings.get(row));
+                    appliedFlags[row] = airings.get(row).getFlagType();
+                }
+            }
+            return;
+        }
+
+        int position = 0;
+        int oldIndex = 0;
+        int newIndex = 0;
+
+        while (oldIndex < applied.size() || newIndex < airings.size()) {
+            Airing oldAiring = oldIndex < applied.size() ? applied.get(oldIndex) : null;
+            Airing newAiring = newIndex < airings.size() ? airings.get(newIndex) : null;
+
+            if (oldAiring != null && newAiring != null && isSameItem(oldAiring, newAiring)) {
+                if (oldAiring != newAiring || appliedFlags[oldIndex] != newAiring.getFlagType()) {
+                    target.set(position, newAiring);
+                }
+                position++;
+                oldIndex++;
+                newIndex++;
+            } else if (newAiring == null
+                    || (oldAiring != null && startOf(oldAiring) <= startOf(newAiring))) {
+                target.remove(position);
+                oldIndex++;
+            } else {
+                target.add(position, newAiring);
+                position++;
+                newIndex++;
+            }
+        }
+
+        remember(channel, airings);
+    }
+
+    /**
+     * Clears the bound list and the remembered state.
+     */
+    public void clear(List<Airing> target) {
+        target.clear();
+        remember(null, Collections.<Airing>emptyList());
+    }
+
+    private boolean sameRows(List<Airing> target) {
+        for (int i = 0; i < applied.size(); i++) {
+            if (target.get(i) != applied.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void remember(String channel, List<Airing> airings) {
+        appliedChannel = channel;
+        appliedSource = airings;
+        applied.clear();
+        applied.addAll(airings);
+        appliedFlags = new int[airings.size()];
+        for (int i = 0; i < airings.size(); i++) {
+            appliedFlags[i] = airings.get(i).getFlagType();
+        }
+    }
+
+    private static boolean isSameItem(Airing oldAiring, Airing newAiring) {
+        if (oldAiring == newAiring) {
+            return true;
+        }
+        return startOf(oldAiring) == startOf(newAiring)
+                && oldAiring.getContentId() != null
+                && oldAiring.getContentId().equals(newAiring.getContentId());
+    }
+
+    private static long startOf(Airing airing) {
+        return airing.getStartDate().getMillis();
+    }
+}
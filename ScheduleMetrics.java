@@ -0,0 +1,189 @@
+package com.nesn.nesnplayer.home;
+
+import android.os.SystemClock;
+
+import com.nesn.nesnplayer.analytics.Analytics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ScheduleMetrics
+ *
+ * Spans, counters and histograms for the schedule screen. Spans run on the monotonic
+ * clock so they survive wall clock changes; histograms use fixed buckets, so memory
+ * stays constant however many samples are recorded. Everything recorded is exported
+ * through {@link Analytics} in batches, one event per metric, and then reset. Histograms
+ * are exported as raw bucket counts, which can be summed across devices and sessions
+ * before percentiles are taken. Main thread only.
+ */
+public class ScheduleMetrics {
+
+    public static final String CATEGORY = "SchedulePerformance";
+
+    /** Upper bounds in milliseconds for latencies. */
+    public static final long[] DURATION_BUCKETS = {16, 50, 100, 250, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+    /** Upper bounds for small counts, e.g. live jobs. */
+    public static final long[] COUNT_BUCKETS = {1, 2, 4, 8, 16, 32, 64, 128, 256};
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final Map<String, Long> openSpans = new LinkedHashMap<>();
+    private final Map<String, Long> counters = new LinkedHashMap<>();
+    private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+    private final int batchSize;
+    private int pendingSamples;
+
+    public ScheduleMetrics() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public ScheduleMetrics(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * (Re)starts the span; a running span with the same name is discarded.
+     */
+    public void startSpan(String name) {
+        startSpan(name, SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * Starts the span at an earlier {@link SystemClock#elapsedRealtime()}, e.g. once it is
+     * known which span a measurement belongs to.
+     */
+    public void startSpan(String name, long startedAt) {
+        openSpans.put(name, startedAt);
+    }
+
+    /**
+     * Ends the span and records its duration into the histogram of the same name.
+     *
+     * @return the duration in milliseconds, or -1 when the span was not running
+     */
+    public long endSpan(String name) {
+        Long startedAt = openSpans.remove(name);
+        if (startedAt == null) {
+            return -1;
+        }
+
+        long duration = SystemClock.elapsedRealtime() - startedAt;
+        record(name, duration, DURATION_BUCKETS);
+        return duration;
+    }
+
+    /**
+     * Drops every running span, e.g. when the screen goes away before they could end.
+     */
+    public void discardSpans() {
+        openSpans.clear();
+    }
+
+    public void increment(String name) {
+        Long count = counters.get(name);
+        counters.put(name, count != null ? count + 1 : 1);
+        pendingSamples++;
+    }
+
+    /**
+     * Records a sample; {@code buckets} only applies the first time the histogram is used.
+     */
+    public void record(String name, long value, long[] buckets) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = new Histogram(buckets);
+            histograms.put(name, histogram);
+        }
+        histogram.record(value);
+        pendingSamples++;
+    }
+
+    /**
+     * Exports once a full batch has been recorded.
+     */
+    public void flushIfFull(Analytics analytics) {
+        if (pendingSamples >= batchSize) {
+            flush(analytics);
+        }
+    }
+
+    /**
+     * Exports everything recorded since the last flush. Running spans are kept.
+     */
+    public void flush(Analytics analytics) {
+        if (analytics == null || pendingSamples == 0) {
+            return;
+        }
+
+        for (Map.Entry<String, Long> counter : counters.entrySet()) {
+            analytics.trackEvent(CATEGORY, counter.getKey(), "count=" + counter.getValue());
+        }
+
+        for (Map.Entry<String, Histogram> histogram : histograms.entrySet()) {
+            if (histogram.getValue().getCount() > 0) {
+                analytics.trackEvent(CATEGORY, histogram.getKey(), histogram.getValue().export());
+                histogram.getValue().reset();
+            }
+        }
+
+        counters.clear();
+        pendingSamples = 0;
+    }
+
+    /**
+     * Histogram
+     *
+     * Sample counts per bucket; one extra bucket takes everything above the last bound.
+     */
+    public static final class Histogram {
+
+        private final long[] bounds;
+        private final long[] counts;
+        private long count;
+        private long max;
+
+        public Histogram(long[] bounds) {
+            this.bounds = bounds.clone();
+            this.counts = new long[bounds.length + 1];
+        }
+
+        public void record(long value) {
+            int bucket = 0;
+            while (bucket < bounds.length && value > bounds[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+            count++;
+            max = Math.max(max, value);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void reset() {
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                counts[bucket] = 0;
+            }
+            count = 0;
+            max = 0;
+        }
+
+        /**
+         * "le=16,50,...;counts=3,0,...;n=..;max=..": the upper bounds, then the count of
+         * each bucket, the last one being everything above the last bound.
+         */
+        String export() {
+            StringBuilder export = new StringBuilder("le=");
+            for (int bucket = 0; bucket < bounds.length; bucket++) {
+                export.append(bucket > 0 ? "," : "").append(bounds[bucket]);
+            }
+            export.append(";counts=");
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                export.append(bucket > 0 ? "," : "").append(counts[bucket]);
+            }
+            return export.append(";n=").append(count).append(";max=").append(max).toString();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ScheduleViewState
+ *
+ * Immutable snapshot of what the schedule screen shows for one channel at one instant.
+ * {@link #compute} is a pure function of its inputs and does not touch the airings'
+ * flags, so it can run on a background scheduler; the presenter applies the result to
+ * {@link HomeViewModel} on the main thread.
+ */
+public final class ScheduleViewState {
+
+    public final String channel;
+    public final MediaData mediaData;
+    public final ScheduleIndex scheduleIndex;
+    public final List<Airing> airings;
+    public final Airing programAiring;
+    public final boolean onNow;
+    public final int flaggedPosition;
+    public final int flagType;
+    public final String previewText;
+    public final long nextBoundary;
+
+    private ScheduleViewState(String channel, MediaData mediaData, ScheduleIndex scheduleIndex,
+                              Airing programAiring, boolean onNow, int flaggedPosition, int flagType,
+                              String previewText, long nextBoundary) {
+        this.channel = channel;
+        this.mediaData = mediaData;
+        this.scheduleIndex = scheduleIndex;
+        this.airings = scheduleIndex != null ? scheduleIndex.getAirings() : Collections.<Airing>emptyList();
+        this.programAiring = programAiring;
+        this.onNow = onNow;
+        this.flaggedPosition = flaggedPosition;
+        this.flagType = flagType;
+        this.previewText = previewText;
+        this.nextBoundary = nextBoundary;
+    }
+
+    /**
+     * Builds the state of {@code channel} at {@code nowMillis}. {@code cachedIndex} is reused
+     * when it was built from the same {@code mediaData}, otherwise a new index is built
+     * with {@code mergedDays} merged in (see {@link ScheduleIndex#build(MediaData, List, String, long)}).
+     */
+    public static ScheduleViewState compute(ScheduleIndex cachedIndex, MediaData mediaData, List<MediaData> mergedDays,
+                                            String channel, long nowMillis, long evictBefore,
+                                            DisplayStringCache displayStrings) {
+        if (mediaData == null) {
+            return new ScheduleViewState(channel, null, null, null, false, -1, Airing.FLAG_NONE, null, -1);
+        }
+
+        ScheduleIndex scheduleIndex = (cachedIndex != null && cachedIndex.isBuiltFrom(mediaData, channel))
+                ? cachedIndex
+                : ScheduleIndex.build(mediaData, mergedDays, channel, evictBefore);
+
+        int position;
+        if ((position = scheduleIndex.indexOfOnNow(nowMillis)) >= 0) {
+            Airing airing = scheduleIndex.get(position);
+            return new ScheduleViewState(channel, mediaData, scheduleIndex, airing, true, position, Airing.FLAG_ON_NOW,
+                    displayStrings.getOnNowText(scheduleIndex, position), scheduleIndex.getEndMillis(position));
+
+        } else if ((position = scheduleIndex.indexOfNext(nowMillis)) >= 0) {
+            Airing airing = scheduleIndex.get(position);
+            return new ScheduleViewState(channel, mediaData, scheduleIndex, airing, false, position, Airing.FLAG_UP_NEXT,
+                    displayStrings.getUpNextText(scheduleIndex, position), scheduleIndex.getStartMillis(position));
+        }
+
+        return new ScheduleViewState(channel, mediaData, scheduleIndex, null, false, -1, Airing.FLAG_NONE, null, -1);
+    }
+
+    public boolean hasAirings() {
+        return !airings.isEmpty();
+    }
+}
@@ -0,0 +1,126 @@
+package com.nesn.nesnplayer.home;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import rx.Subscription;
+
+/**
+ * SubscriptionRegistry
+ *
+ * Long-lived work of a screen, one entry per key. Registering a key again unsubscribes
+ * whatever ran under it, so repeated resumes and refreshes never stack duplicate jobs.
+ * {@link #pause()} stops everything; {@link #resume()} restarts the jobs registered
+ * with a {@link Job} that had not finished, while one-shot subscriptions are dropped.
+ * Main thread only.
+ */
+public class SubscriptionRegistry {
+
+    /**
+     * Job
+     *
+     * Starts (or restarts) a piece of work, e.g. arms a timer relative to the current time.
+     */
+    public interface Job {
+        Subscription start();
+    }
+
+    private static final class Entry {
+        final Job job;
+        Subscription subscription;
+
+        Entry(Job job, Subscription subscription) {
+            this.job = job;
+            this.subscription = subscription;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private boolean paused;
+
+    /**
+     * Registers a restartable job under {@code key}, starting it unless paused.
+     */
+    public void register(String key, Job job) {
+        cancel(key);
+        entries.put(key, new Entry(job, paused ? null : job.start()));
+    }
+
+    /**
+     * Registers a one-shot subscription under {@code key}. It is not restarted after a pause.
+     */
+    public void register(String key, Subscription subscription) {
+        cancel(key);
+        if (paused) {
+            subscription.unsubscribe();
+            return;
+        }
+        entries.put(key, new Entry(null, subscription));
+    }
+
+    public void cancel(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null && entry.subscription != null) {
+            entry.subscription.unsubscribe();
+        }
+    }
+
+    public boolean isLive(String key) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.subscription != null && !entry.subscription.isUnsubscribed();
+    }
+
+    /**
+     * Stops every job. Jobs that already finished and one-shot subscriptions are forgotten.
+     */
+    public void pause() {
+        paused = true;
+
+        List<String> finished = new ArrayList<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            Subscription subscription = entry.getValue().subscription;
+            if (entry.getValue().job == null || (subscription != null && subscription.isUnsubscribed())) {
+                finished.add(entry.getKey());
+            }
+            if (subscription != null) {
+                subscription.unsubscribe();
+                entry.getValue().subscription = null;
+            }
+        }
+
+        for (String key : finished) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Restarts the jobs stopped by {@link #pause()}.
+     */
+    public void resume() {
+        if (!paused) {
+            return;
+        }
+
+        paused = false;
+        for (Entry entry : new ArrayList<>(entries.values())) {
+            if (entry.job != null && entry.subscription == null) {
+                entry.subscription = entry.job.start();
+            }
+        }
+    }
+
+    /**
+     * Number of registered subscriptions that are still running.
+     */
+    public int getLiveCount() {
+        int live = 0;
+        for (Entry entry : entries.values()) {
+            if (entry.subscription != null && !entry.subscription.isUnsubscribed()) {
+                live++;
+            }
+        }
+        return live;
+    }
+}
@@ -0,0 +1,99 @@
+package com.nesn.nesnplayer.home;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.nesn.nesnplayer.sdkclient.catalog.CatalogProvider;
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaResult;
+
+import org.joda.time.DateTime;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * CatalogFixtures
+ *
+ * Catalog responses saved from the app, one file per channel and window length named
+ * {@code <channel>-<days>d.json} (e.g. {@code NESN-7d.json}), read from the directory in
+ * the {@code catalog.json.dir} system property. They are parsed into the sdkclient's
+ * {@link MediaResult} the way the catalog client does it: Gson over the catalog model
+ * classes, with ISO-8601 strings for {@link DateTime}s.
+ */
+final class CatalogFixtures {
+
+    static final String DIR_PROPERTY = "catalog.json.dir";
+    static final String[] CHANNELS = {CatalogProvider.NESN, CatalogProvider.NESN_PLUS};
+
+    private static final Gson CATALOG_GSON = new GsonBuilder()
+            .registerTypeAdapter(DateTime.class, new DateTimeAdapter().nullSafe())
+            .create();
+
+    final byte[][] json;
+    final MediaData[] mediaData;
+    final long now;
+
+    /**
+     * Loads and parses the {@code days} day catalog of every channel. "Now" is a day after
+     * the earliest start, as {@code HomePresenter} requests its window from a day back.
+     */
+    CatalogFixtures(int days) throws IOException {
+        String dir = System.getProperty(DIR_PROPERTY);
+        if (dir == null || dir.isEmpty()) {
+            throw new IllegalStateException("Pass the saved catalog responses with -D" + DIR_PROPERTY + "=<dir>");
+        }
+
+        json = new byte[CHANNELS.length][];
+        mediaData = new MediaData[CHANNELS.length];
+        long windowStart = Long.MAX_VALUE;
+        for (int channel = 0; channel < CHANNELS.length; channel++) {
+            json[channel] = Files.readAllBytes(new File(dir, CHANNELS[channel] + "-" + days + "d.json").toPath());
+            mediaData[channel] = parse(json[channel]).getData();
+
+            List<Airing> airings = mediaData[channel].getAiringsByChannel(CHANNELS[channel]);
+            if (airings == null || airings.isEmpty()) {
+                throw new IllegalStateException("No " + CHANNELS[channel] + " airings in the " + days + " day catalog");
+            }
+            for (Airing airing : airings) {
+                windowStart = Math.min(windowStart, airing.getStartDate().getMillis());
+            }
+        }
+        now = new DateTime(windowStart).plusDays(1).getMillis();
+    }
+
+    static MediaResult parse(byte[] json) {
+        Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8);
+        return CATALOG_GSON.fromJson(reader, MediaResult.class);
+    }
+
+    /**
+     * DateTimeAdapter
+     */
+    private static final class DateTimeAdapter extends TypeAdapter<DateTime> {
+
+        private static final DateTimeFormatter PARSER = ISODateTimeFormat.dateTimeParser().withOffsetParsed();
+
+        @Override
+        public void write(JsonWriter out, DateTime value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public DateTime read(JsonReader in) throws IOException {
+            return in.peek() == JsonToken.NUMBER ? new DateTime(in.nextLong()) : PARSER.parseDateTime(in.nextString());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nesn.nesnplayer.home;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CatalogParseBenchmark
+ *
+ * Catalog JSON to {@code MediaResult} for every channel of a saved catalog, the step in
+ * front of each mapSchedule pass after a load. Run headless with {@link #main(String[])},
+ * which attaches the GC profiler for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogParseBenchmark {
+
+    @Param({"1", "7", "30"})
+    public int days;
+
+    private CatalogFixtures catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalog = new CatalogFixtures(days);
+    }
+
+    @Benchmark
+    public void parseCatalog(Blackhole blackhole) {
+        for (byte[] json : catalog.json) {
+            blackhole.consume(CatalogFixtures.parse(json));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CatalogParseBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+import com.nesn.nesnplayer.sdkclient.model.catalog.ScheduleHelper;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduleLookupBenchmark
+ *
+ * On-now / up-next resolution for every channel of a saved catalog, as done on each
+ * mapSchedule pass: the {@link ScheduleIndex} binary searches against the sdkclient's
+ * {@link ScheduleHelper} scans the screen used before, plus the
+ * {@code MediaData.getAiringsByChannel} call both start from. Run headless with
+ * {@link #main(String[])}, which attaches the GC profiler for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleLookupBenchmark {
+
+    @Param({"1", "7", "30"})
+    public int days;
+
+    private CatalogFixtures catalog;
+    private List<Airing>[] airings;
+    private ScheduleIndex[] indexes;
+    private long[] probes;
+    private int probe;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        catalog = new CatalogFixtures(days);
+        int channels = CatalogFixtures.CHANNELS.length;
+        airings = new List[channels];
+        indexes = new ScheduleIndex[channels];
+        for (int channel = 0; channel < channels; channel++) {
+            airings[channel] = catalog.mediaData[channel].getAiringsByChannel(CatalogFixtures.CHANNELS[channel]);
+            indexes[channel] = ScheduleIndex.build(catalog.mediaData[channel], CatalogFixtures.CHANNELS[channel]);
+        }
+
+        // lookups land anywhere in the loaded window, like boundary timers and resumes do
+        probes = new long[1024];
+        long span = TimeUnit.DAYS.toMillis(days);
+        long windowStart = catalog.now - TimeUnit.DAYS.toMillis(1);
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = windowStart + (span / probes.length) * i;
+        }
+    }
+
+    private long nextProbe() {
+        probe = (probe + 1) & (probes.length - 1);
+        return probes[probe];
+    }
+
+    @Benchmark
+    public void indexOnNowAndNext(Blackhole blackhole) {
+        long now = nextProbe();
+        for (ScheduleIndex index : indexes) {
+            int onNow = index.indexOfOnNow(now);
+            blackhole.consume(onNow >= 0 ? onNow : index.indexOfNext(now));
+        }
+    }
+
+    @Benchmark
+    public void scheduleHelperOnNowAndNext(Blackhole blackhole) {
+        DateTime now = new DateTime(nextProbe(), DateTimeZone.UTC);
+        for (List<Airing> channelAirings : airings) {
+            Airing onNow = ScheduleHelper.getAiringByTime(channelAirings, now);
+            blackhole.consume(onNow != null ? onNow : ScheduleHelper.getNextAiring(channelAirings, now));
+        }
+    }
+
+    @Benchmark
+    public void airingsByChannel(Blackhole blackhole) {
+        for (int channel = 0; channel < airings.length; channel++) {
+            blackhole.consume(catalog.mediaData[channel].getAiringsByChannel(CatalogFixtures.CHANNELS[channel]));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScheduleLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
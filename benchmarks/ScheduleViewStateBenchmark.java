@@ -0,0 +1,148 @@
+package com.nesn.nesnplayer.home;
+
+import com.nesn.nesnplayer.core.DateFormatHelper;
+import com.nesn.nesnplayer.sdkclient.model.catalog.Airing;
+import com.nesn.nesnplayer.sdkclient.model.catalog.MediaData;
+import com.nesn.nesnplayer.sdkclient.model.catalog.ScheduleHelper;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ScheduleViewStateBenchmark
+ *
+ * The work of one mapSchedule pass per channel over a saved catalog: building the
+ * {@link ScheduleIndex} after a catalog load, computing the {@link ScheduleViewState}
+ * with that build included, and computing it from the cached index as boundary timers
+ * and resumes do. {@link #mapScheduleBaseline(Blackhole)} is the pass the screen made
+ * before, on {@link ScheduleHelper} and a flag reset over every airing. Run headless with
+ * {@link #main(String[])}, which attaches the GC profiler for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleViewStateBenchmark {
+
+    private static final List<MediaData> NO_MERGED_DAYS = Collections.emptyList();
+
+    @Param({"1", "7", "30"})
+    public int days;
+
+    private CatalogFixtures catalog;
+    private ScheduleIndex[] cachedIndexes;
+    private DisplayStringCache displayStrings;
+    private long evictBefore;
+    private long[] probes;
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        catalog = new CatalogFixtures(days);
+        evictBefore = catalog.now - TimeUnit.DAYS.toMillis(2);
+
+        cachedIndexes = new ScheduleIndex[CatalogFixtures.CHANNELS.length];
+        for (int channel = 0; channel < cachedIndexes.length; channel++) {
+            cachedIndexes[channel] = ScheduleIndex.build(catalog.mediaData[channel], CatalogFixtures.CHANNELS[channel]);
+        }
+        displayStrings = new DisplayStringCache();
+
+        // passes land anywhere in the loaded window, like boundary timers and resumes do
+        probes = new long[1024];
+        long span = TimeUnit.DAYS.toMillis(days);
+        long windowStart = catalog.now - TimeUnit.DAYS.toMillis(1);
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = windowStart + (span / probes.length) * i;
+        }
+    }
+
+    private long nextProbe() {
+        probe = (probe + 1) & (probes.length - 1);
+        return probes[probe];
+    }
+
+    @Benchmark
+    public void buildIndex(Blackhole blackhole) {
+        for (int channel = 0; channel < cachedIndexes.length; channel++) {
+            blackhole.consume(ScheduleIndex.build(catalog.mediaData[channel], CatalogFixtures.CHANNELS[channel]));
+        }
+    }
+
+    @Benchmark
+    public void computeAfterLoad(Blackhole blackhole) {
+        long now = nextProbe();
+        for (int channel = 0; channel < cachedIndexes.length; channel++) {
+            blackhole.consume(ScheduleViewState.compute(null, catalog.mediaData[channel], NO_MERGED_DAYS,
+                    CatalogFixtures.CHANNELS[channel], now, evictBefore, displayStrings));
+        }
+    }
+
+    @Benchmark
+    public void computeCached(Blackhole blackhole) {
+        long now = nextProbe();
+        for (int channel = 0; channel < cachedIndexes.length; channel++) {
+            blackhole.consume(ScheduleViewState.compute(cachedIndexes[channel], catalog.mediaData[channel],
+                    NO_MERGED_DAYS, CatalogFixtures.CHANNELS[channel], now, evictBefore, displayStrings));
+        }
+    }
+
+    @Benchmark
+    public void mapScheduleBaseline(Blackhole blackhole) {
+        DateTime now = new DateTime(nextProbe(), DateTimeZone.UTC);
+        for (int channel = 0; channel < cachedIndexes.length; channel++) {
+            List<Airing> airings = catalog.mediaData[channel].getAiringsByChannel(CatalogFixtures.CHANNELS[channel]);
+
+            int flagType = Airing.FLAG_ON_NOW;
+            Airing airing = ScheduleHelper.getAiringByTime(airings, now);
+            if (airing == null) {
+                flagType = Airing.FLAG_UP_NEXT;
+                airing = ScheduleHelper.getNextAiring(airings, now);
+            }
+            if (airing == null) {
+                continue;
+            }
+
+            for (int i = 0; i < airings.size(); i++) {
+                airings.get(i).setFlagType(Airing.FLAG_NONE);
+            }
+            airing.setFlagType(flagType);
+
+            blackhole.consume(flagType == Airing.FLAG_ON_NOW
+                    ? "ON NOW - " + airing.getLocaleTitle()
+                    : airing.getStartDate().toString(DateFormatHelper.FormatType.PREVIEW_TEXT) + airing.getLocaleTitle());
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScheduleViewStateBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}